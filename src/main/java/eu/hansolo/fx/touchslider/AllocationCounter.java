@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2022 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.fx.touchslider;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+
+/**
+ * Reads the number of bytes allocated by a thread if the JVM supports it
+ * (com.sun.management.ThreadMXBean), used by the benchmarks and the stress demo.
+ */
+final class AllocationCounter {
+    private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+    private static final MethodHandle ALLOCATED_BYTES;
+    private static final MethodHandle TOTAL_ALLOCATED_BYTES;
+    static {
+        MethodHandle handle;
+        MethodHandle totalHandle;
+        try {
+            final Class<?> beanClass = Class.forName("com.sun.management.ThreadMXBean");
+            handle      = MethodHandles.publicLookup().findVirtual(beanClass, "getThreadAllocatedBytes", MethodType.methodType(long.class, long.class));
+            handle      = handle.asType(MethodType.methodType(long.class, Object.class, long.class));
+            totalHandle = MethodHandles.publicLookup().findVirtual(beanClass, "getThreadAllocatedBytes", MethodType.methodType(long[].class, long[].class));
+            totalHandle = totalHandle.asType(MethodType.methodType(long[].class, Object.class, long[].class));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            handle      = null;
+            totalHandle = null;
+        }
+        ALLOCATED_BYTES       = handle;
+        TOTAL_ALLOCATED_BYTES = totalHandle;
+    }
+
+
+    // ******************** Constructors **************************************
+    private AllocationCounter() {}
+
+
+    // ******************** Methods *******************************************
+    static boolean isSupported() { return null != ALLOCATED_BYTES; }
+
+    /**
+     * Returns the number of bytes allocated by the current thread or -1 if not supported
+     * @return the number of bytes allocated by the current thread or -1 if not supported
+     */
+    static long allocatedBytes() { return allocatedBytes(Thread.currentThread().getId()); }
+    static long allocatedBytes(final long threadId) {
+        if (null == ALLOCATED_BYTES) { return -1; }
+        try {
+            return (long) ALLOCATED_BYTES.invokeExact((Object) THREAD_MX_BEAN, threadId);
+        } catch (Throwable t) {
+            return -1;
+        }
+    }
+
+    /**
+     * Returns the number of bytes allocated by all live threads (an approximation of
+     * the heap allocation rate when sampled periodically) or -1 if not supported
+     * @return the number of bytes allocated by all live threads or -1 if not supported
+     */
+    static long totalAllocatedBytes() {
+        if (null == TOTAL_ALLOCATED_BYTES) { return -1; }
+        try {
+            final long[] bytes = (long[]) TOTAL_ALLOCATED_BYTES.invokeExact((Object) THREAD_MX_BEAN, THREAD_MX_BEAN.getAllThreadIds());
+            long total = 0;
+            for (long threadBytes : bytes) { if (threadBytes > 0) { total += threadBytes; } }
+            return total;
+        } catch (Throwable t) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2022 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.fx.touchslider;
+
+import javafx.scene.canvas.GraphicsContext;
+
+
+/**
+ * Renderer that counts the draw() calls of all sliders it is set on and delegates to another
+ * renderer, used by the stress mode of the Demo and the stress test.
+ * Only used on the FX application thread.
+ */
+final class CountingRenderer implements TouchSliderRenderer {
+    private final TouchSliderRenderer delegate;
+    private       long                drawCount;
+
+
+    // ******************** Constructors **************************************
+    CountingRenderer() {
+        this(TouchSliderRenderer.DEFAULT);
+    }
+    CountingRenderer(final TouchSliderRenderer delegate) {
+        this.delegate = delegate;
+    }
+
+
+    // ******************** Methods *******************************************
+    long getDrawCount() { return drawCount; }
+
+    @Override public void layout(final TouchSliderGeometry geometry, final TouchSliderStyle style) {
+        delegate.layout(geometry, style);
+    }
+
+    @Override public void draw(final GraphicsContext ctx, final TouchSliderGeometry geometry, final TouchSliderStyle style, final double position, final String valueText, final boolean lowFidelity) {
+        drawCount++;
+        delegate.draw(ctx, geometry, style, position, valueText, lowFidelity);
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2022 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.fx.touchslider;
+
+import javafx.geometry.VPos;
+import javafx.scene.Scene;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.text.TextAlignment;
+
+
+/**
+ * The standard look of the TouchSlider (bar, thumb, value, name and zero line),
+ * one code path for both orientations.
+ */
+public class DefaultTouchSliderRenderer implements TouchSliderRenderer {
+
+    // ******************** Constructors **************************************
+    public DefaultTouchSliderRenderer() {}
+
+
+    // ******************** Methods *******************************************
+    @Override public void layout(final TouchSliderGeometry g, final TouchSliderStyle style) {
+        final double length = g.length;
+        g.barThickness      = g.thickness * 0.75;
+        g.barOffset         = (g.thickness - g.barThickness) * 0.5;
+        g.arcSize           = clamp(3, 10, g.barThickness * 0.1);
+        g.lineWidth         = clamp(1, 5, g.barThickness * 0.01333333);
+        g.thumbThickness    = g.barThickness * 1.2;
+        g.thumbOffset       = g.barOffset - g.barThickness * 0.1;
+        g.thumbLength       = length * 0.03;
+        g.zeroAlong         = length * g.zeroPosition;
+        g.fontSize          = g.barThickness * 0.4;
+        g.textCross         = g.thickness * 0.5;
+        g.valueTextAlong    = length - Math.max(5, length * 0.05);
+        g.valueTextMaxWidth = g.horizontal ? length * 0.5 : length * 0.4;
+        g.nameTextAlong     = Math.max(5, length * 0.05);
+        g.nameTextMaxWidth  = g.horizontal ? Double.MAX_VALUE : length * 0.4;
+        g.meterOffset       = g.barOffset + g.barThickness + g.barOffset * 0.25;
+        g.meterThickness    = g.barOffset * 0.5;
+    }
+
+    @Override public void draw(final GraphicsContext ctx, final TouchSliderGeometry g, final TouchSliderStyle style, final double position, final String valueText, final boolean lowFidelity) {
+        ctx.clearRect(0, 0, ctx.getCanvas().getWidth(), ctx.getCanvas().getHeight());
+        ctx.setTextBaseline(VPos.CENTER);
+
+        if (style.isBarBackgroundFilled()) {
+            ctx.setFill(style.getBarBackgroundColor());
+            fill(ctx, g, 0, g.barOffset, g.length, g.barThickness, lowFidelity);
+        } else {
+            ctx.setLineWidth(g.lineWidth);
+            ctx.setStroke(style.getBarBackgroundColor());
+            g.strokeRoundRect(ctx, g.lineWidth * 0.5, g.barOffset, g.length - g.lineWidth, g.barThickness, g.arcSize);
+        }
+
+        // Only the position dependent values are computed per frame
+        final double valueAlong = position * g.length;
+        double       barStart   = 0;
+        double       barEnd     = valueAlong;
+        if (style.isStartFromZero() && g.zeroInRange) {
+            barStart = Math.min(g.zeroAlong, valueAlong);
+            barEnd   = Math.max(g.zeroAlong, valueAlong);
+        }
+        ctx.setFill(style.getBarColor());
+        if (barEnd > barStart) { fill(ctx, g, barStart, g.barOffset, barEnd - barStart, g.barThickness, lowFidelity); }
+        ctx.setFill(style.getThumbColor());
+        fill(ctx, g, valueAlong - g.thumbLength * 0.5, g.thumbOffset, g.thumbLength, g.thumbThickness, lowFidelity);
+
+        // With the glyph atlas the text is blitted, text the atlas can not draw falls back to fillText.
+        // The characters of the value text are shared by all sliders of the style, the name is pre-rendered per slider
+        final boolean glyphAtlas = TextMode.GLYPH_ATLAS == style.getTextMode();
+        final double  scale      = glyphAtlas ? outputScale(ctx) : 1;
+
+        if (style.isValueVisible() && null != valueText &&
+            (!glyphAtlas || !style.getGlyphAtlas(g.fontSize, g.horizontal, scale).drawValue(ctx, g, valueText, g.valueTextAlong, g.valueTextMaxWidth))) {
+            ctx.setFill(style.getValueTextColor());
+            ctx.setTextAlign(TextAlignment.RIGHT);
+            ctx.setFont(style.getFont(g.fontSize));
+            fillText(ctx, g, valueText, g.valueTextAlong, g.valueTextMaxWidth);
+        }
+
+        if (style.isNameVisible() && null != g.name && !g.name.isEmpty()) {
+            if (glyphAtlas) {
+                if (null == g.nameAtlas || !g.nameAtlas.matches(style, g.fontSize, g.horizontal, scale, g.name)) {
+                    g.nameAtlas = new GlyphAtlas(style, g.fontSize, g.horizontal, scale, g.name);
+                }
+                g.nameAtlas.drawName(ctx, g, g.nameTextAlong, g.nameTextMaxWidth);
+            } else {
+                ctx.setFill(style.getNameTextColor());
+                ctx.setTextAlign(TextAlignment.LEFT);
+                ctx.setFont(style.getFont(g.fontSize));
+                fillText(ctx, g, g.name, g.nameTextAlong, g.nameTextMaxWidth);
+            }
+        }
+
+        if (g.zeroInRange && style.isShowZero()) {
+            ctx.setStroke(style.getZeroColor());
+            if (lowFidelity) {
+                g.strokeCrossLine(ctx, g.zeroAlong, g.barOffset, g.barThickness);
+            } else {
+                ctx.save();
+                ctx.setLineDashes(2, 4);
+                g.strokeCrossLine(ctx, g.zeroAlong, g.barOffset, g.barThickness);
+                ctx.restore();
+            }
+        }
+    }
+
+    protected void fill(final GraphicsContext ctx, final TouchSliderGeometry g, final double along, final double cross, final double alongSize, final double crossSize, final boolean lowFidelity) {
+        if (lowFidelity) {
+            g.fillRect(ctx, along, cross, alongSize, crossSize);
+        } else {
+            g.fillRoundRect(ctx, along, cross, alongSize, crossSize, g.arcSize);
+        }
+    }
+
+    // Text runs along the track, on vertical sliders it is rotated to read from bottom to top
+    protected void fillText(final GraphicsContext ctx, final TouchSliderGeometry g, final String text, final double along, final double maxWidth) {
+        if (g.horizontal) {
+            ctx.fillText(text, along, g.textCross, maxWidth);
+        } else {
+            ctx.save();
+            ctx.translate(g.textCross, g.length - along);
+            ctx.rotate(-90);
+            ctx.fillText(text, 0, 0, maxWidth);
+            ctx.restore();
+        }
+    }
+
+    // The output scale of the window the canvas is shown in (e.g. 2.0 on HiDPI screens)
+    private static double outputScale(final GraphicsContext ctx) {
+        final Scene scene = ctx.getCanvas().getScene();
+        if (null == scene || null == scene.getWindow()) { return 1; }
+        return Math.max(1, Math.max(scene.getWindow().getOutputScaleX(), scene.getWindow().getOutputScaleY()));
+    }
+
+    private static double clamp(final double min, final double max, final double value) {
+        if (value < min) { return min; }
+        if (value > max) { return max; }
+        return value;
+    }
+}
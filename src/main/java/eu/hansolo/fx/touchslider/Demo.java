@@ -39,9 +39,17 @@ public class Demo extends Application {
     private CheckBox    snapToZeroCheckBox;
     private CheckBox    returnToZeroCheckBox;
     private VBox        buttonBox;
+    private StressMode  stressMode;
 
 
+    public Demo() {}
+
     @Override public void init() {
+        // e.g. --stress --columns=40 --rows=5 --automated=0.25 --rate=120
+        if (getParameters().getRaw().contains("--stress")) {
+            stressMode = new StressMode(getParameters().getNamed());
+            return;
+        }
         volumeSlider = TouchSliderBuilder.create()
                                          .prefSize(200, 600)
                                          .name("Volume")
@@ -116,6 +124,13 @@ public class Demo extends Application {
     }
 
     @Override public void start(Stage stage) {
+        if (null != stressMode) {
+            stage.setTitle("TouchSlider Stress Mode");
+            stage.setScene(stressMode.createScene());
+            stage.show();
+            return;
+        }
+
         HBox pane = new HBox(volumeSlider, bassSlider, trebleSlider, buttonBox);
         pane.setPadding(new Insets(20));
 
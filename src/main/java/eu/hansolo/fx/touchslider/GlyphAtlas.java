@@ -0,0 +1,208 @@
+/*
+ * Copyright (c) 2022 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.fx.touchslider;
+
+import javafx.geometry.VPos;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.Text;
+import javafx.scene.text.TextAlignment;
+import javafx.scene.transform.Transform;
+
+import java.util.Objects;
+
+
+/**
+ * Pre-rendered characters of the value text or the pre-rendered name of one slider.
+ * A character atlas contains the characters a format string can produce (digits, sign, decimal point
+ * and the literal characters of the format string like units) in the text color, the font size
+ * and the orientation of the slider, so drawing a value is a sequence of drawImage() blits
+ * without text layout or transformations. Character atlases are cached by the TouchSliderStyle
+ * and shared by all sliders with the same style, font size, orientation and output scale,
+ * only the name atlas is created per slider.
+ * The atlas is rasterized at the output scale of the window (e.g. 2.0 on HiDPI screens) and
+ * drawn back at 1/scale, so the text stays sharp.
+ * Only used on the FX application thread.
+ */
+final class GlyphAtlas {
+    private static final String             NUMBER_CHARACTERS = "0123456789+-.,eE ";
+    private static final int                PADDING           = 2;
+    private        final TouchSliderStyle   style;
+    private        final double             fontSize;
+    private        final boolean            horizontal;
+    private        final String             name;
+    private        final double             scale;
+    private              String             characters;
+    private              int[]              offsets;
+    private              double[]           advances;
+    private              int                nameOffset;
+    private              double             nameAdvance;
+    private              int                atlasLength;
+    private              int                cellHeight;
+    private              WritableImage      image;
+
+
+    // ******************** Constructors **************************************
+    /**
+     * Rasterizes the characters of the value text (name == null) or the given name
+     * @param style
+     * @param fontSize
+     * @param horizontal
+     * @param scale the output scale of the window the atlas is drawn in
+     * @param name the name of the slider or null for the characters of the value text
+     */
+    GlyphAtlas(final TouchSliderStyle style, final double fontSize, final boolean horizontal, final double scale, final String name) {
+        this.style      = style;
+        this.fontSize   = fontSize;
+        this.horizontal = horizontal;
+        this.scale      = scale;
+        this.name       = name;
+        build();
+    }
+
+
+    // ******************** Methods *******************************************
+    /**
+     * Returns true if the atlas was rasterized with the given parameters
+     * @param style
+     * @param fontSize
+     * @param horizontal
+     * @param scale
+     * @param name
+     * @return true if the atlas was rasterized with the given parameters
+     */
+    boolean matches(final TouchSliderStyle style, final double fontSize, final boolean horizontal, final double scale, final String name) {
+        return style == this.style && Double.compare(fontSize, this.fontSize) == 0 && horizontal == this.horizontal &&
+               Double.compare(scale, this.scale) == 0 && Objects.equals(name, this.name);
+    }
+
+    /**
+     * Draws the value text along the track, right aligned to the given position
+     * @param ctx
+     * @param g
+     * @param text
+     * @param along the end of the text
+     * @param maxWidth the text is compressed along the track if it is wider
+     * @return false if the text contains characters that are not in the atlas
+     */
+    boolean drawValue(final GraphicsContext ctx, final TouchSliderGeometry g, final String text, final double along, final double maxWidth) {
+        double width = 0;
+        for (int i = 0 ; i < text.length() ; i++) {
+            final int index = characters.indexOf(text.charAt(i));
+            if (index < 0) { return false; }
+            width += advances[index];
+        }
+        final double compression = width > maxWidth ? maxWidth / width : 1;
+        double       start       = along - width * compression;
+        for (int i = 0 ; i < text.length() ; i++) {
+            final int index = characters.indexOf(text.charAt(i));
+            blit(ctx, g, offsets[index], advances[index], start, compression);
+            start += advances[index] * compression;
+        }
+        return true;
+    }
+
+    /**
+     * Draws the name along the track, left aligned to the given position
+     * @param ctx
+     * @param g
+     * @param along the start of the name
+     * @param maxWidth the name is compressed along the track if it is wider
+     */
+    void drawName(final GraphicsContext ctx, final TouchSliderGeometry g, final double along, final double maxWidth) {
+        if (nameAdvance <= 0) { return; }
+        blit(ctx, g, nameOffset, nameAdvance, along, nameAdvance > maxWidth ? maxWidth / nameAdvance : 1);
+    }
+
+    // Copies one cell of the atlas (in pixels of the output scale) to the track, the cell is centered on the text line
+    private void blit(final GraphicsContext ctx, final TouchSliderGeometry g, final int offset, final double advance, final double along, final double compression) {
+        final double start = Math.round(along);
+        final double size  = advance * compression;
+        final double cross = Math.round(g.textCross - cellHeight * 0.5);
+        if (g.horizontal) {
+            ctx.drawImage(image, offset * scale, 0, advance * scale, cellHeight * scale, start, cross, size, cellHeight);
+        } else {
+            ctx.drawImage(image, 0, (atlasLength - offset - advance) * scale, cellHeight * scale, advance * scale, cross, g.length - start - size, cellHeight, size);
+        }
+    }
+
+    private void build() {
+        final Font   font = style.getFont(fontSize);
+        final String name = null == this.name ? "" : this.name;
+        final Text   text = new Text();
+        text.setFont(font);
+
+        // The characters a number can consist of and the literal characters of the format string (e.g. units)
+        final StringBuilder chars = new StringBuilder(null == this.name ? NUMBER_CHARACTERS : "");
+        final String        format = null == style.getFormatString() || null != this.name ? "" : style.getFormatString();
+        for (int i = 0 ; i < format.length() ; i++) {
+            final char c = format.charAt(i);
+            if (chars.indexOf(String.valueOf(c)) < 0) { chars.append(c); }
+        }
+        characters = chars.toString();
+        offsets    = new int[characters.length()];
+        advances   = new double[characters.length()];
+
+        int offset = PADDING;
+        for (int i = 0 ; i < characters.length() ; i++) {
+            text.setText(String.valueOf(characters.charAt(i)));
+            offsets[i]  = offset;
+            advances[i] = text.getLayoutBounds().getWidth();
+            offset     += (int) Math.ceil(advances[i]) + PADDING;
+        }
+        text.setText(name);
+        nameOffset  = offset;
+        nameAdvance = name.isEmpty() ? 0 : text.getLayoutBounds().getWidth();
+        offset     += (int) Math.ceil(nameAdvance) + PADDING;
+        text.setText(characters.isEmpty() ? name : characters);
+        atlasLength = offset;
+        cellHeight  = (int) Math.ceil(text.getLayoutBounds().getHeight()) + PADDING;
+
+        // Rasterize all cells in the orientation of the slider, vertical text reads from bottom to top
+        final Canvas          canvas = horizontal ? new Canvas(atlasLength, cellHeight) : new Canvas(cellHeight, atlasLength);
+        final GraphicsContext ctx    = canvas.getGraphicsContext2D();
+        ctx.setFont(font);
+        ctx.setTextBaseline(VPos.CENTER);
+        ctx.setTextAlign(TextAlignment.LEFT);
+        ctx.setFill(style.getValueTextColor());
+        for (int i = 0 ; i < characters.length() ; i++) { rasterize(ctx, String.valueOf(characters.charAt(i)), offsets[i]); }
+        if (nameAdvance > 0) {
+            ctx.setFill(style.getNameTextColor());
+            rasterize(ctx, name, nameOffset);
+        }
+        final SnapshotParameters parameters = new SnapshotParameters();
+        parameters.setFill(Color.TRANSPARENT);
+        parameters.setTransform(Transform.scale(scale, scale));
+        image = canvas.snapshot(parameters, null);
+    }
+
+    private void rasterize(final GraphicsContext ctx, final String text, final int offset) {
+        if (horizontal) {
+            ctx.fillText(text, offset, cellHeight * 0.5);
+        } else {
+            ctx.save();
+            ctx.translate(cellHeight * 0.5, atlasLength - offset);
+            ctx.rotate(-90);
+            ctx.fillText(text, 0, 0);
+            ctx.restore();
+        }
+    }
+}
@@ -17,6 +17,8 @@
 package eu.hansolo.fx.touchslider;
 
 public class Launcher {
+    public Launcher() {}
+
     public static void main(String[] args) {
         Demo.main(args);
     }
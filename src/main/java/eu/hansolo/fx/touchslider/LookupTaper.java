@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2022 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.fx.touchslider;
+
+import java.util.function.DoubleUnaryOperator;
+
+
+/**
+ * Taper that is backed by a precomputed lookup table of the curve. Mapping a position
+ * to a value is one interpolation, mapping a value back to a position is a binary search
+ * over the same table, so both directions are exact inverses of each other.
+ */
+final class LookupTaper implements Taper {
+    private static final int      TABLE_SIZE = 1024;
+    private        final double[] values;
+
+
+    // ******************** Constructors **************************************
+    LookupTaper(final DoubleUnaryOperator curve) {
+        values = new double[TABLE_SIZE + 1];
+
+        final double start = curve.applyAsDouble(0);
+        final double end   = curve.applyAsDouble(1);
+        final double span  = end - start;
+        if (Double.compare(span, 0) == 0 || Double.isNaN(span) || Double.isInfinite(span)) { throw new IllegalArgumentException("Curve must be monotonic between 0 and 1"); }
+
+        // position -> value, forced to be monotonic
+        double max = 0;
+        for (int i = 0 ; i <= TABLE_SIZE ; i++) {
+            final double value = (curve.applyAsDouble((double) i / TABLE_SIZE) - start) / span;
+            max       = Math.max(max, Math.min(1, value));
+            values[i] = max;
+        }
+        values[TABLE_SIZE] = 1;
+    }
+
+
+    // ******************** Methods *******************************************
+    @Override public double toValue(final double position) {
+        if (position <= 0) { return values[0]; }
+        if (position >= 1) { return values[TABLE_SIZE]; }
+        final double index = position * TABLE_SIZE;
+        final int    i     = (int) index;
+        final double v0    = values[i];
+        return v0 + (values[i + 1] - v0) * (index - i);
+    }
+
+    @Override public double toPosition(final double value) {
+        if (value <= 0) { return 0; }
+        if (value >= 1) { return 1; }
+        // Last entry below the value, flat segments of the table map to their start
+        int low  = 0;
+        int high = TABLE_SIZE;
+        while (high - low > 1) {
+            final int mid = (low + high) >>> 1;
+            if (values[mid] < value) { low = mid; } else { high = mid; }
+        }
+        final double v0 = values[low];
+        final double v1 = values[high];
+        final double f  = Double.compare(v1, v0) == 0 ? 0 : clamp((value - v0) / (v1 - v0));
+        return (low + f) / TABLE_SIZE;
+    }
+
+    private static double clamp(final double value) {
+        if (value < 0) { return 0; }
+        if (value > 1) { return 1; }
+        return value;
+    }
+}
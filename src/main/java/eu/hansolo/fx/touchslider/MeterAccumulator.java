@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2022 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.fx.touchslider;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+
+/**
+ * Lock-free accumulator for meter values that keeps the minimum, maximum and last
+ * value that was added since the last drain. Values can be added from any thread,
+ * draining is done once per pulse on the FX application thread.
+ */
+final class MeterAccumulator {
+    private static final int             MIN       = 0;
+    private static final int             MAX       = 1;
+    private static final int             LAST      = 2;
+    private static final long            EMPTY_MIN = Double.doubleToRawLongBits(Double.POSITIVE_INFINITY);
+    private static final long            EMPTY_MAX = Double.doubleToRawLongBits(Double.NEGATIVE_INFINITY);
+    private        final AtomicLongArray slots;
+
+
+    // ******************** Constructors **************************************
+    MeterAccumulator() {
+        slots = new AtomicLongArray(3);
+        slots.set(MIN, EMPTY_MIN);
+        slots.set(MAX, EMPTY_MAX);
+    }
+
+
+    // ******************** Methods *******************************************
+    void add(final double value) {
+        if (Double.isNaN(value)) { return; }
+        final long bits = Double.doubleToRawLongBits(value);
+        slots.set(LAST, bits);
+        long current;
+        do {
+            current = slots.get(MIN);
+        } while (value < Double.longBitsToDouble(current) && !slots.compareAndSet(MIN, current, bits));
+        do {
+            current = slots.get(MAX);
+        } while (value > Double.longBitsToDouble(current) && !slots.compareAndSet(MAX, current, bits));
+    }
+
+    /**
+     * Moves the values that were added since the last call into the given array
+     * (min, max, last) and resets the accumulator
+     * @param target array with at least 3 elements
+     * @return false if no value was added since the last call
+     */
+    boolean drain(final double[] target) {
+        // max is written last in add(), so a sample that is only visible in min is picked up by the next drain
+        final long max = slots.getAndSet(MAX, EMPTY_MAX);
+        if (EMPTY_MAX == max) { return false; }
+        final long min = slots.getAndSet(MIN, EMPTY_MIN);
+        target[1] = Double.longBitsToDouble(max);
+        target[0] = EMPTY_MIN == min ? target[1] : Math.min(target[1], Double.longBitsToDouble(min));
+        target[2] = Double.longBitsToDouble(slots.get(LAST));
+        return true;
+    }
+}
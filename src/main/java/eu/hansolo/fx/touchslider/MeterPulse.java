@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2022 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.fx.touchslider;
+
+import javafx.animation.AnimationTimer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * One AnimationTimer that repaints the level meters of all visible sliders once per pulse.
+ * Only used on the FX application thread, the timer runs as long as at least one meter is registered.
+ * Every registered slider keeps its index in the list, so registering and unregistering never search it.
+ */
+final class MeterPulse {
+    private static final List<TouchSlider> SLIDERS = new ArrayList<>();
+    private static final AnimationTimer    TIMER   = new AnimationTimer() {
+        @Override public void handle(final long now) {
+            for (int i = 0 ; i < SLIDERS.size() ; i++) { SLIDERS.get(i).pulseMeter(now); }
+        }
+    };
+
+
+    // ******************** Constructors **************************************
+    private MeterPulse() {}
+
+
+    // ******************** Methods *******************************************
+    static void register(final TouchSlider slider) {
+        if (slider.meterPulseIndex >= 0) { return; }
+        slider.meterPulseIndex = SLIDERS.size();
+        SLIDERS.add(slider);
+        if (SLIDERS.size() == 1) { TIMER.start(); }
+    }
+
+    static void unregister(final TouchSlider slider) {
+        final int index = slider.meterPulseIndex;
+        if (index < 0) { return; }
+        // The last slider takes the place of the removed one, the order of the meters doesn't matter
+        final TouchSlider last = SLIDERS.remove(SLIDERS.size() - 1);
+        if (last != slider) {
+            SLIDERS.set(index, last);
+            last.meterPulseIndex = index;
+        }
+        slider.meterPulseIndex = -1;
+        if (SLIDERS.isEmpty()) { TIMER.stop(); }
+    }
+
+    static int getNumberOfMeters() { return SLIDERS.size(); }
+}
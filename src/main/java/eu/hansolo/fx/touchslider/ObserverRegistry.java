@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) 2022 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.fx.touchslider;
+
+import javafx.application.Platform;
+import javafx.beans.InvalidationListener;
+import javafx.scene.Node;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * Observers of one TouchSlider.
+ * Subscribing appends to a list and unsubscribing only deactivates the subscription, both are O(1).
+ * Dispatching iterates a compact array that is rebuilt (dropping inactive subscriptions) at most
+ * once per dispatch and only if subscriptions were added or removed since the last rebuild.
+ * Inactive subscriptions are also dropped when they outnumber the active ones, so subscribing and
+ * unsubscribing without dispatches in between does not grow the list.
+ * Thread safe, events can be dispatched from any thread.
+ */
+final class ObserverRegistry {
+    private static final Subscription[]                          EMPTY          = new Subscription[0];
+    private static final int                                     MIN_COMPACTION = 16;
+    private final        Object                                  lock;
+    private final        List<Subscription>                      subscriptions;
+    private final        Map<TouchSliderObserver, Subscription>  byObserver;
+    private volatile     Subscription[]                          snapshot;
+    private volatile     boolean                                 dirty;
+    private              int                                     activeCount;
+
+
+    // ******************** Constructors **************************************
+    ObserverRegistry() {
+        lock          = new Object();
+        subscriptions = new ArrayList<>();
+        byObserver    = new HashMap<>();
+        snapshot      = EMPTY;
+    }
+
+
+    // ******************** Methods *******************************************
+    TouchSliderSubscription subscribe(final TouchSliderObserver observer) {
+        return add(new Subscription(this, observer, null, null));
+    }
+
+    TouchSliderSubscription subscribeWeak(final TouchSliderObserver observer) {
+        return add(new Subscription(this, null, new WeakReference<>(observer), null));
+    }
+
+    // A scope that is not part of a scene yet ends the subscription when it is removed from the scene it is added to,
+    // a scope that never enters a scene keeps the subscription until it is unsubscribed explicitly
+    TouchSliderSubscription subscribe(final TouchSliderObserver observer, final Node scope) {
+        final Subscription subscription = new Subscription(this, observer, null, scope);
+        // The subscription ends when the scope is removed from its scene, unsubscribing removes the listener from the scope
+        scope.sceneProperty().addListener(subscription.scopeListener);
+        return add(subscription);
+    }
+
+    // Keeps the semantics of addTouchSliderObserver(), an observer that is already subscribed is not added again
+    void addObserver(final TouchSliderObserver observer) {
+        synchronized (lock) {
+            if (byObserver.containsKey(observer)) { return; }
+            byObserver.put(observer, (Subscription) subscribe(observer));
+        }
+    }
+
+    void removeObserver(final TouchSliderObserver observer) {
+        final Subscription subscription;
+        synchronized (lock) { subscription = byObserver.remove(observer); }
+        if (null != subscription) { subscription.unsubscribe(); }
+    }
+
+    /**
+     * Returns the number of active subscriptions, subscriptions of collected weak observers are dropped first
+     * @return the number of active subscriptions
+     */
+    int getCount() {
+        synchronized (lock) {
+            for (int i = 0 ; i < subscriptions.size() ; i++) { subscriptions.get(i).getObserver(); }
+            return activeCount;
+        }
+    }
+
+    boolean isEmpty() { return 0 == activeCount; }
+
+    void dispatch(final TouchSliderEvent evt) {
+        Subscription[] current = snapshot;
+        if (dirty) { current = rebuild(); }
+        for (int i = 0 ; i < current.length ; i++) {
+            final TouchSliderObserver observer = current[i].getObserver();
+            if (null != observer) { observer.onTouchSliderEvent(evt); }
+        }
+    }
+
+    private TouchSliderSubscription add(final Subscription subscription) {
+        synchronized (lock) {
+            subscriptions.add(subscription);
+            activeCount++;
+            dirty = true;
+        }
+        return subscription;
+    }
+
+    private void deactivated() {
+        synchronized (lock) {
+            activeCount--;
+            dirty = true;
+            // The snapshot keeps its own array, so the list can be compacted without a dispatch
+            final int inactiveCount = subscriptions.size() - activeCount;
+            if (inactiveCount >= MIN_COMPACTION && inactiveCount > activeCount) { subscriptions.removeIf(subscription -> !subscription.isActive()); }
+        }
+    }
+
+    private Subscription[] rebuild() {
+        synchronized (lock) {
+            if (!dirty) { return snapshot; }
+            subscriptions.removeIf(subscription -> !subscription.isActive());
+            final Subscription[] rebuilt = subscriptions.toArray(EMPTY);
+            snapshot = rebuilt;
+            dirty    = false;
+            return rebuilt;
+        }
+    }
+
+
+    // ******************** Inner Classes *************************************
+    private static final class Subscription implements TouchSliderSubscription {
+        private final    ObserverRegistry                    registry;
+        private volatile TouchSliderObserver                 observer;
+        private final    WeakReference<TouchSliderObserver>  weakObserver;
+        private volatile boolean                             active;
+        private final    Node                                scope;
+        private final    InvalidationListener                scopeListener;
+
+
+        Subscription(final ObserverRegistry registry, final TouchSliderObserver observer, final WeakReference<TouchSliderObserver> weakObserver, final Node scope) {
+            this.registry      = registry;
+            this.observer      = observer;
+            this.weakObserver  = weakObserver;
+            this.scope         = scope;
+            this.scopeListener = null == scope ? null : o -> { if (null == scope.getScene()) { unsubscribe(); } };
+            this.active        = true;
+        }
+
+
+        // Returns null if the subscription is not active (anymore)
+        TouchSliderObserver getObserver() {
+            if (!active) { return null; }
+            if (null == weakObserver) { return observer; }
+            final TouchSliderObserver referent = weakObserver.get();
+            if (null == referent) { unsubscribe(); }
+            return referent;
+        }
+
+        @Override public void unsubscribe() {
+            synchronized (this) {
+                if (!active) { return; }
+                active = false;
+            }
+            // Releases the observer right away, the subscription itself is dropped with the next rebuild
+            observer = null;
+            if (null != weakObserver) { weakObserver.clear(); }
+            if (null != scope) { removeScopeListener(); }
+            registry.deactivated();
+        }
+
+        // The scene property of the scope may only be changed on the FX application thread
+        private void removeScopeListener() {
+            if (Platform.isFxApplicationThread()) {
+                scope.sceneProperty().removeListener(scopeListener);
+            } else {
+                Platform.runLater(() -> scope.sceneProperty().removeListener(scopeListener));
+            }
+        }
+
+        @Override public boolean isActive() { return active; }
+    }
+}
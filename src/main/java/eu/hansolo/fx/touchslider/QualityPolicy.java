@@ -0,0 +1,29 @@
+/*
+ * Copyright (c) 2022 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.fx.touchslider;
+
+/**
+ * Defines when a TouchSlider may use the cheaper low fidelity rendering path
+ */
+public enum QualityPolicy {
+    /** Always render at full quality */
+    FULL,
+    /** Render at low fidelity while a gesture is active, full quality on release or after an idle timeout */
+    INTERACTIVE,
+    /** Like INTERACTIVE, but also degrades when a full quality redraw exceeds the frame budget */
+    ADAPTIVE
+}
@@ -0,0 +1,236 @@
+/*
+ * Copyright (c) 2022 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.fx.touchslider;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+
+/**
+ * Links several TouchSliders so that they move together (e.g. stereo pairs or VCA groups).
+ * A move of one member is applied to all members in one pass, every member is redrawn once.
+ * The moved member fires its own TouchSliderEvent, the members that follow it are reported by
+ * one SliderGroupEvent that is fired once all members are updated (setFollowerEvents(true) lets
+ * the following members fire their own TouchSliderEvents as well).
+ * The group keeps the unclamped value of every member, so offsets between members are kept when
+ * a member reaches the end of its range and restored when the group moves back.
+ * Members that are written in one batched update (e.g. TouchSliderBank.write() or an undo) keep their
+ * written values, the other members follow the first written member once the batch ended.
+ */
+public class SliderGroup {
+    public enum Coupling {
+        /** All members follow the slider value of the moved member plus their own offset */
+        ABSOLUTE,
+        /** All members are moved by the same delta as the moved member, starting from their value when they were added */
+        RELATIVE
+    }
+
+    private final Coupling                                  coupling;
+    private final List<TouchSlider>                         members;
+    private       double[]                                  offsets;
+    // The unclamped values of the members (Coupling.RELATIVE)
+    private       double[]                                  positions;
+    // The members that were written in the running batch and their (real) values before the batch
+    private       boolean[]                                 written;
+    private       double[]                                  writtenValues;
+    private       int                                       writtenCount;
+    private       int                                       batchDepth;
+    private final CopyOnWriteArrayList<SliderGroupObserver> observers;
+    // The unclamped value of a member with offset 0 (Coupling.ABSOLUTE)
+    private       double                                    reference;
+    private       boolean                                   updating;
+    private       boolean                                   followerEvents;
+
+
+    // ******************** Constructors **************************************
+    public SliderGroup() {
+        this(Coupling.ABSOLUTE);
+    }
+    public SliderGroup(final Coupling coupling) {
+        this.coupling      = null == coupling ? Coupling.ABSOLUTE : coupling;
+        this.members       = new ArrayList<>();
+        this.offsets       = new double[4];
+        this.positions     = new double[4];
+        this.written       = new boolean[4];
+        this.writtenValues = new double[4];
+        this.observers     = new CopyOnWriteArrayList<>();
+    }
+
+
+    // ******************** Methods *******************************************
+    public Coupling getCoupling() { return coupling; }
+
+    /**
+     * Returns true if the members that follow a moved member fire their own TouchSliderEvents
+     * @return true if the members that follow a moved member fire their own TouchSliderEvents
+     */
+    public boolean isFollowerEvents() { return followerEvents; }
+    /**
+     * Defines if the members that follow a moved member fire their own TouchSliderEvents in addition
+     * to the SliderGroupEvent (default false, only the moved member fires a TouchSliderEvent)
+     * @param followerEvents
+     */
+    public void setFollowerEvents(final boolean followerEvents) { this.followerEvents = followerEvents; }
+
+    /**
+     * Adds the given slider to the group (with an offset of 0)
+     * @param slider
+     */
+    public void add(final TouchSlider slider) { add(slider, 0); }
+    /**
+     * Adds the given slider to the group. With Coupling.ABSOLUTE the slider will follow
+     * the value of the moved member plus the given offset and is aligned to the other members
+     * when it is added (the first member defines the value of the group).
+     * With Coupling.RELATIVE the offset is ignored and the slider keeps its value.
+     * A slider can only be member of one group and will be removed from its previous group.
+     * @param slider
+     * @param offset
+     */
+    public void add(final TouchSlider slider, final double offset) {
+        if (null == slider || members.contains(slider)) { return; }
+        if (null != slider.group) { slider.group.remove(slider); }
+        if (Coupling.ABSOLUTE == coupling) {
+            if (members.isEmpty()) {
+                reference = slider.getSliderValue() - offset;
+            } else {
+                set(slider, reference + offset);
+            }
+        }
+        final int index = members.size();
+        if (index == offsets.length) {
+            offsets       = Arrays.copyOf(offsets, index * 2);
+            positions     = Arrays.copyOf(positions, index * 2);
+            written       = Arrays.copyOf(written, index * 2);
+            writtenValues = Arrays.copyOf(writtenValues, index * 2);
+        }
+        members.add(slider);
+        offsets[index]   = offset;
+        positions[index] = slider.getSliderValue();
+        slider.group     = this;
+    }
+
+    public void remove(final TouchSlider slider) {
+        final int index = members.indexOf(slider);
+        if (index < 0) { return; }
+        final int tail = members.size() - index - 1;
+        members.remove(index);
+        System.arraycopy(offsets, index + 1, offsets, index, tail);
+        System.arraycopy(positions, index + 1, positions, index, tail);
+        if (written[index]) { writtenCount--; }
+        System.arraycopy(written, index + 1, written, index, tail);
+        System.arraycopy(writtenValues, index + 1, writtenValues, index, tail);
+        written[members.size()] = false;
+        slider.group = null;
+    }
+
+    public List<TouchSlider> getMembers() { return List.copyOf(members); }
+
+    // True while the group applies values to its members
+    boolean isUpdating() { return updating; }
+
+    /**
+     * Called by a member when its value changed, updates all other members and fires the group event
+     * @param trigger the member that changed
+     * @param oldValue the old (normalized) value of the member
+     */
+    void memberChanged(final TouchSlider trigger, final double oldValue) {
+        if (updating) { return; }
+        final int triggerIndex = members.indexOf(trigger);
+        if (triggerIndex < 0) { return; }
+        follow(triggerIndex, trigger.getSliderValue() - trigger.toRealValue(oldValue));
+        fireSliderGroupEvent(trigger);
+    }
+
+    // Called by a member when it starts a batched update
+    void beginBatch() { batchDepth++; }
+
+    /**
+     * Called by a member at the end of its batched update if its value changed in the batch
+     * @param member the member that was written
+     * @param oldValue the (normalized) value of the member before the batch
+     */
+    void memberWritten(final TouchSlider member, final double oldValue) {
+        final int index = members.indexOf(member);
+        if (index < 0 || written[index]) { return; }
+        written[index]       = true;
+        writtenValues[index] = member.toRealValue(oldValue);
+        writtenCount++;
+    }
+
+    // Called by a member when it ended its batched update, the group follows when the last batched member ended
+    void endBatch() {
+        if (--batchDepth > 0 || 0 == writtenCount) { return; }
+        int triggerIndex = -1;
+        for (int i = 0 ; i < members.size() ; i++) {
+            if (!written[i]) { continue; }
+            if (triggerIndex < 0) { triggerIndex = i; }
+            positions[i] = members.get(i).getSliderValue();
+        }
+        final TouchSlider trigger = members.get(triggerIndex);
+        follow(triggerIndex, trigger.getSliderValue() - writtenValues[triggerIndex]);
+        Arrays.fill(written, false);
+        writtenCount = 0;
+        fireSliderGroupEvent(trigger);
+    }
+
+    // Moves all members that were not written to follow the member at the given index
+    private void follow(final int triggerIndex, final double delta) {
+        updating = true;
+        try {
+            // The value of the moved member is where it was moved to, the others keep their unclamped values
+            reference               = members.get(triggerIndex).getSliderValue() - offsets[triggerIndex];
+            positions[triggerIndex] = members.get(triggerIndex).getSliderValue();
+            for (int i = 0 ; i < members.size() ; i++) {
+                if (i == triggerIndex || written[i]) { continue; }
+                switch (coupling) {
+                    case ABSOLUTE -> set(members.get(i), reference + offsets[i]);
+                    case RELATIVE -> {
+                        positions[i] += delta;
+                        set(members.get(i), positions[i]);
+                    }
+                }
+            }
+        } finally {
+            updating = false;
+        }
+    }
+
+    private void set(final TouchSlider member, final double value) {
+        final boolean wasUpdating = updating;
+        updating = true;
+        try {
+            member.setSliderValue(value);
+        } finally {
+            updating = wasUpdating;
+        }
+    }
+
+
+    // ******************** Event Handling ************************************
+    public void addSliderGroupObserver(final SliderGroupObserver observer) { if (!observers.contains(observer)) { observers.add(observer); }}
+    public void removeSliderGroupObserver(final SliderGroupObserver observer) { if (observers.contains(observer)) { observers.remove(observer); }}
+
+    private void fireSliderGroupEvent(final TouchSlider trigger) {
+        if (observers.isEmpty()) { return; }
+        final double[] values = new double[members.size()];
+        for (int i = 0 ; i < values.length ; i++) { values[i] = members.get(i).getSliderValue(); }
+        final SliderGroupEvent evt = new SliderGroupEvent(this, trigger, values);
+        observers.forEach(observer -> observer.onSliderGroupEvent(evt));
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2022 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.fx.touchslider;
+
+public class SliderGroupEvent {
+    private final SliderGroup src;
+    private final TouchSlider trigger;
+    private final double[]    values;
+
+
+    // ******************** Constructors **************************************
+    public SliderGroupEvent(final SliderGroup src, final TouchSlider trigger, final double[] values) {
+        this.src     = src;
+        this.trigger = trigger;
+        this.values  = values;
+    }
+
+
+    // ******************** Methods *******************************************
+    public SliderGroup getSource() { return src; }
+
+    /**
+     * Returns the member that was moved and caused the group update
+     * @return the member that was moved and caused the group update
+     */
+    public TouchSlider getTrigger() { return trigger; }
+
+    public int getMemberCount() { return values.length; }
+
+    /**
+     * Returns the slider value of the member at the given index (in the order the members were added)
+     * @param index
+     * @return the slider value of the member at the given index
+     */
+    public double getValue(final int index) { return values[index]; }
+}
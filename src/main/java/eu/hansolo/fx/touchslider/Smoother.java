@@ -0,0 +1,231 @@
+/*
+ * Copyright (c) 2022 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.fx.touchslider;
+
+import eu.hansolo.fx.touchslider.TouchSliderEvent.Origin;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+
+/**
+ * Smoothing state of one slider. The target is set on the FX application thread, the smoothed
+ * value is stepped on the thread of the SmoothingScheduler and delivered to the slider on the
+ * FX application thread.
+ */
+final class Smoother {
+    private final    TouchSlider   slider;
+    private final    AtomicBoolean active;
+    private final    AtomicBoolean queued;
+    private volatile double        target;
+    private volatile long          targetVersion;
+    private volatile Origin        origin;
+    private volatile double        jumpValue;
+    private volatile long          jumpVersion;
+    private volatile boolean       jump;
+    private volatile Smoothing     mode;
+    private volatile double        time;
+    private volatile double        range;
+    // Latest result of the scheduler thread, the sequence is odd while the result is written
+    private volatile long          resultSequence;
+    private volatile double        result;
+    private volatile Origin        resultOrigin;
+    private volatile long          resultTimestamp;
+    private volatile long          resultVersion;
+    private volatile boolean       settled;
+    // Only used on the scheduler thread
+    private          double        current;
+    private          double        velocity;
+    private          long          steppedVersion;
+    // Only used on the FX application thread
+    private          double        delivered;
+    private          long          deliveredVersion;
+    private          boolean       deliveredSettled;
+
+
+    // ******************** Constructors **************************************
+    Smoother(final TouchSlider slider, final double value) {
+        this.slider           = slider;
+        this.active           = new AtomicBoolean();
+        this.queued           = new AtomicBoolean();
+        this.target           = value;
+        this.current          = value;
+        this.delivered        = value;
+        this.deliveredSettled = true;
+        this.settled          = true;
+        this.origin           = Origin.PROGRAMMATIC;
+        this.mode             = Smoothing.NONE;
+    }
+
+
+    // ******************** Methods *******************************************
+    /**
+     * @param mode
+     * @param timeMillis the smoothing time in milliseconds
+     * @param range the range of the slider, used for the slew rate and the settle threshold
+     */
+    void configure(final Smoothing mode, final double timeMillis, final double range) {
+        this.mode  = mode;
+        this.time  = timeMillis / 1000.0;
+        this.range = range;
+    }
+
+    Smoothing getMode() { return mode; }
+
+    void setTarget(final double value, final Origin origin) {
+        this.target = value;
+        this.origin = origin;
+        targetVersion++;
+        SmoothingScheduler.activate(this);
+    }
+
+    /**
+     * Moves the smoothed value to the given value without delivering it
+     * @param value
+     */
+    void jumpTo(final double value) {
+        this.target      = value;
+        this.delivered   = value;
+        this.jumpValue   = value;
+        this.jumpVersion = ++targetVersion;
+        this.jump        = true;
+        SmoothingScheduler.activate(this);
+    }
+
+    boolean activate() { return active.compareAndSet(false, true); }
+
+    /**
+     * Returns the last value that was delivered, called on the FX application thread
+     * @return the last value that was delivered
+     */
+    double getDelivered() { return delivered; }
+
+    /**
+     * Returns true if the smoothed value settled and was delivered, called on the FX application thread
+     * @return true if the smoothed value settled and was delivered
+     */
+    boolean isIdle() {
+        // Every new target is followed by a settled result of the same target version
+        return !queued.get() && deliveredSettled && deliveredVersion == targetVersion;
+    }
+
+    /**
+     * Called by the scheduler when the smoother settled
+     * @return true if the target changed after the last step and the smoother was activated again
+     */
+    boolean deactivate() {
+        active.set(false);
+        return steppedVersion != targetVersion && active.compareAndSet(false, true);
+    }
+
+    /**
+     * Advances the smoothed value by one control period and queues it for delivery if it changed or settled
+     * @param dt the control period in seconds
+     * @param now the System.nanoTime() of the tick
+     * @return false if the smoothed value settled at the target
+     */
+    boolean step(final double dt, final long now) {
+        final long   version = targetVersion;
+        final double target  = this.target;
+        steppedVersion = version;
+        if (jump) {
+            jump     = false;
+            current  = jumpValue;
+            velocity = 0;
+            // Targets that were set after the jump are smoothed from the jump value
+            if (version == jumpVersion) {
+                publish(current, now, version, true);
+                return false;
+            }
+        }
+        final double diff    = target - current;
+        final double epsilon = Math.max(Math.abs(range), 1e-9) * 1e-4;
+        final double time    = this.time;
+        double       next;
+        if (time <= 0) {
+            next = target;
+        } else {
+            switch (mode) {
+                case ONE_POLE -> next = current + diff * (1.0 - Math.exp(-dt / time));
+                case SLEW_RATE -> {
+                    final double maxStep = Math.abs(range) * dt / time;
+                    next = current + Math.max(-maxStep, Math.min(maxStep, diff));
+                }
+                case CRITICALLY_DAMPED -> {
+                    // Exact step of a critically damped spring (approximated exponential), stable for any dt
+                    final double omega = 4.0 / time;
+                    final double x     = omega * dt;
+                    final double exp   = 1.0 / (1.0 + x + 0.48 * x * x + 0.235 * x * x * x);
+                    final double temp  = (velocity - omega * diff) * dt;
+                    velocity = (velocity - omega * temp) * exp;
+                    next     = target + (-diff + temp) * exp;
+                }
+                default -> next = target;
+            }
+        }
+        final boolean settled = Math.abs(target - next) < epsilon && Math.abs(velocity * dt) < epsilon;
+        if (settled) {
+            next     = target;
+            velocity = 0;
+        }
+        if (Double.compare(next, current) != 0 || settled) {
+            current = next;
+            publish(next, now, version, settled);
+        }
+        return !settled;
+    }
+
+    /**
+     * Delivers the latest result to the slider, called on the FX application thread
+     */
+    void deliver() {
+        queued.set(false);
+        long    sequence;
+        double  value;
+        Origin  valueOrigin;
+        long    timestamp;
+        long    version;
+        boolean valueSettled;
+        do {
+            sequence     = resultSequence;
+            value        = result;
+            valueOrigin  = resultOrigin;
+            timestamp    = resultTimestamp;
+            version      = resultVersion;
+            valueSettled = settled;
+        } while ((sequence & 1) != 0 || sequence != resultSequence);
+        deliveredVersion = version;
+        deliveredSettled = valueSettled;
+        if (Double.compare(value, delivered) != 0) {
+            delivered = value;
+            slider.fireSmoothedEvent(value, valueOrigin, timestamp);
+        }
+        // A settled result of an older target does not end the gesture
+        if (isIdle()) { slider.smoothingSettled(); }
+    }
+
+    private void publish(final double value, final long now, final long version, final boolean settled) {
+        final long sequence = resultSequence;
+        resultSequence  = sequence + 1;
+        result          = value;
+        resultOrigin    = origin;
+        resultTimestamp = now;
+        resultVersion   = version;
+        this.settled    = settled;
+        resultSequence  = sequence + 2;
+        if (queued.compareAndSet(false, true)) { SmoothingScheduler.enqueueDelivery(this); }
+    }
+}
@@ -0,0 +1,32 @@
+/*
+ * Copyright (c) 2022 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.fx.touchslider;
+
+/**
+ * Defines how the values that are delivered to the observers of a TouchSlider are smoothed.
+ * The smoothing time of the slider defines how fast the smoothed value follows the slider value.
+ */
+public enum Smoothing {
+    /** Values are delivered as they are */
+    NONE,
+    /** Exponential approach with the smoothing time as time constant */
+    ONE_POLE,
+    /** Linear ramp, the full range is traveled within the smoothing time */
+    SLEW_RATE,
+    /** Critically damped spring, follows fast without overshoot, the smoothing time is the approximate settle time */
+    CRITICALLY_DAMPED
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2022 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.fx.touchslider;
+
+import javafx.application.Platform;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+
+/**
+ * One daemon thread that steps all active smoothers at the control rate.
+ * All smoothers are serviced in one pass per tick, the results of a tick are handed to the
+ * FX application thread with one Platform.runLater() that delivers them to the observers.
+ * If the FX application thread is busy the ticks are coalesced and every smoother only
+ * delivers its latest value. Smoothers that settled are removed and the thread parks until
+ * the next smoother gets activated.
+ */
+final class SmoothingScheduler {
+    static final         double          DEFAULT_CONTROL_RATE = 1000;
+    static final         double          MIN_CONTROL_RATE     = 1;
+    static final         double          MAX_CONTROL_RATE     = 10_000;
+    private static final Queue<Smoother> PENDING              = new ConcurrentLinkedQueue<>();
+    private static final Queue<Smoother> DELIVERIES           = new ConcurrentLinkedQueue<>();
+    private static final AtomicBoolean   DELIVERY_SCHEDULED   = new AtomicBoolean();
+    private static final List<Smoother>  ACTIVE               = new ArrayList<>();
+    private static volatile double       controlRate          = DEFAULT_CONTROL_RATE;
+    private static       Thread          thread;
+
+
+    // ******************** Constructors **************************************
+    private SmoothingScheduler() {}
+
+
+    // ******************** Methods *******************************************
+    static double getControlRate() { return controlRate; }
+    static void setControlRate(final double rate) {
+        if (!(rate >= MIN_CONTROL_RATE && rate <= MAX_CONTROL_RATE)) { throw new IllegalArgumentException("Control rate must be between " + MIN_CONTROL_RATE + " and " + MAX_CONTROL_RATE + " Hz: " + rate); }
+        controlRate = rate;
+    }
+
+    static void activate(final Smoother smoother) {
+        if (smoother.activate()) { PENDING.add(smoother); }
+        LockSupport.unpark(getThread());
+    }
+
+    // Called on the scheduler thread by a smoother that has a result for the FX application thread
+    static void enqueueDelivery(final Smoother smoother) { DELIVERIES.add(smoother); }
+
+    private static synchronized Thread getThread() {
+        if (null == thread) {
+            thread = new Thread(SmoothingScheduler::run, "TouchSlider Smoothing");
+            thread.setDaemon(true);
+            thread.start();
+        }
+        return thread;
+    }
+
+    private static void run() {
+        long next = System.nanoTime();
+        while (true) {
+            for (Smoother smoother = PENDING.poll() ; null != smoother ; smoother = PENDING.poll()) { ACTIVE.add(smoother); }
+            if (ACTIVE.isEmpty()) {
+                // Idle until a smoother gets activated
+                LockSupport.park();
+                next = System.nanoTime();
+                continue;
+            }
+            final double rate   = controlRate;
+            final double dt     = 1.0 / rate;
+            final long   now    = System.nanoTime();
+            for (int i = ACTIVE.size() - 1 ; i >= 0 ; i--) {
+                final Smoother smoother = ACTIVE.get(i);
+                if (!smoother.step(dt, now)) {
+                    ACTIVE.remove(i);
+                    // The target might have changed after the last step
+                    if (smoother.deactivate()) { PENDING.add(smoother); }
+                }
+            }
+            if (!DELIVERIES.isEmpty() && DELIVERY_SCHEDULED.compareAndSet(false, true)) { Platform.runLater(SmoothingScheduler::deliver); }
+            next += (long) (1_000_000_000L / rate);
+            final long wait = next - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            } else {
+                // Do not try to catch up after a stall
+                next = System.nanoTime();
+            }
+        }
+    }
+
+    // Runs on the FX application thread, delivers the latest results of all smoothers that changed
+    private static void deliver() {
+        DELIVERY_SCHEDULED.set(false);
+        for (Smoother smoother = DELIVERIES.poll() ; null != smoother ; smoother = DELIVERIES.poll()) {
+            try {
+                smoother.deliver();
+            } catch (RuntimeException e) {
+                // An observer failed, the other smoothers are still delivered
+                Thread.currentThread().getUncaughtExceptionHandler().uncaughtException(Thread.currentThread(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,245 @@
+/*
+ * Copyright (c) 2022 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.fx.touchslider;
+
+import eu.hansolo.fx.touchslider.TouchSliderEvent.Origin;
+import javafx.animation.AnimationTimer;
+import javafx.geometry.Orientation;
+import javafx.geometry.Pos;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.Scene;
+import javafx.scene.control.Label;
+import javafx.scene.layout.ColumnConstraints;
+import javafx.scene.layout.GridPane;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.RowConstraints;
+import javafx.scene.layout.StackPane;
+import javafx.scene.paint.Color;
+import javafx.stage.Screen;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+
+/**
+ * Stress mode of the Demo, started with --stress.
+ * Creates a grid of sliders, drives a part of them by a synthetic automation and shows
+ * an overlay with the pulse rate, frame time percentiles, redraw and event rates and the
+ * heap allocation rate.
+ * Options: --columns=32 --rows=4 --automated=0.5 (fraction of automated sliders) --rate=60 (updates per second and automated slider)
+ * Invalid option values are reported with the usage and replaced by their default.
+ */
+final class StressMode {
+    private static final int    FRAME_SAMPLES    = 512;
+    private static final long   OVERLAY_INTERVAL = 500_000_000L;
+    private static final double MB               = 1024 * 1024;
+    private static final String USAGE            = "Usage: --stress [--columns=32] [--rows=4] [--automated=0.5] [--rate=60]";
+    private final int               columns;
+    private final int               rows;
+    private final double            automatedFraction;
+    private final double            rate;
+    private final List<TouchSlider> automated;
+    private final CountingRenderer  renderer;
+    private       long              eventCount;
+    private final GridPane          grid;
+    private final Label             overlay;
+    private final long[]            frameTimes;
+    private final long[]            sortedFrameTimes;
+
+
+    // ******************** Constructors **************************************
+    StressMode(final Map<String, String> parameters) {
+        columns           = (int) Math.max(1, parse(parameters, "columns", 32, true));
+        rows              = (int) Math.max(1, parse(parameters, "rows", 4, true));
+        automatedFraction = clamp(0, 1, parse(parameters, "automated", 0.5, false));
+        rate              = Math.max(0, parse(parameters, "rate", 60, false));
+        automated         = new ArrayList<>();
+        renderer          = new CountingRenderer();
+        grid              = new GridPane();
+        overlay           = new Label();
+        frameTimes        = new long[FRAME_SAMPLES];
+        sortedFrameTimes  = new long[FRAME_SAMPLES];
+        initGraphics();
+    }
+
+
+    // ******************** Initialization ************************************
+    private void initGraphics() {
+        for (int column = 0 ; column < columns ; column++) {
+            final ColumnConstraints constraints = new ColumnConstraints();
+            constraints.setPercentWidth(100.0 / columns);
+            constraints.setHgrow(Priority.ALWAYS);
+            grid.getColumnConstraints().add(constraints);
+        }
+        for (int row = 0 ; row < rows ; row++) {
+            final RowConstraints constraints = new RowConstraints();
+            constraints.setPercentHeight(100.0 / rows);
+            constraints.setVgrow(Priority.ALWAYS);
+            grid.getRowConstraints().add(constraints);
+        }
+        final int noOfSliders = columns * rows;
+        for (int i = 0 ; i < noOfSliders ; i++) {
+            // Spreads the automated sliders evenly over the grid
+            final boolean isAutomated = Math.floor((i + 1) * automatedFraction) > Math.floor(i * automatedFraction);
+            final TouchSlider slider = TouchSliderBuilder.create()
+                                                         .prefSize(50, 200)
+                                                         .name((isAutomated ? "Auto " : "Ch ") + (i + 1))
+                                                         .orientation(Orientation.VERTICAL)
+                                                         .minValue(-50)
+                                                         .range(100)
+                                                         .sliderValue(0)
+                                                         .formatString("%.0f")
+                                                         .barBackgroundColor(isAutomated ? Color.rgb(150, 50, 50, 0.5) : Color.rgb(50, 50, 150, 0.5))
+                                                         .barColor(isAutomated ? Color.rgb(150, 50, 50) : Color.rgb(50, 50, 150))
+                                                         .valueTextColor(Color.WHITE)
+                                                         .nameTextColor(Color.WHITE)
+                                                         .showZero(true)
+                                                         .valueVisible(true)
+                                                         .nameVisible(true)
+                                                         .renderer(renderer)
+                                                         .onTouchSliderEvent(e -> eventCount++)
+                                                         .build();
+            if (isAutomated) { automated.add(slider); }
+            grid.add(slider, i % columns, i / columns);
+        }
+
+        overlay.setMouseTransparent(true);
+        overlay.setStyle("-fx-background-color: rgba(0, 0, 0, 0.75); -fx-text-fill: white; -fx-font-family: monospace; -fx-padding: 10;");
+        StackPane.setAlignment(overlay, Pos.TOP_LEFT);
+    }
+
+
+    // ******************** Methods *******************************************
+    Scene createScene() {
+        final Rectangle2D bounds = Screen.getPrimary().getVisualBounds();
+        final StackPane   pane   = new StackPane(grid, overlay);
+        pane.setStyle("-fx-background-color: rgb(30, 30, 30);");
+        final Scene scene = new Scene(pane, Math.min(bounds.getWidth(), columns * 60), Math.min(bounds.getHeight(), rows * 220));
+        new StressTimer().start();
+        return scene;
+    }
+
+    // Returns the default value and prints the usage if the option is not a (whole) number
+    private static double parse(final Map<String, String> parameters, final String name, final double defaultValue, final boolean whole) {
+        final String value = parameters.get(name);
+        if (null == value) { return defaultValue; }
+        try {
+            final double number = whole ? Integer.parseInt(value.trim()) : Double.parseDouble(value.trim());
+            if (Double.isFinite(number)) { return number; }
+        } catch (NumberFormatException e) {
+            // reported below
+        }
+        System.err.println("Invalid value --" + name + "=" + value + ", using " + (whole ? Integer.toString((int) defaultValue) : Double.toString(defaultValue)));
+        System.err.println(USAGE);
+        return defaultValue;
+    }
+
+    private static double clamp(final double min, final double max, final double value) {
+        if (value < min) { return min; }
+        if (value > max) { return max; }
+        return value;
+    }
+
+
+    // ******************** Inner Classes *************************************
+    private class StressTimer extends AnimationTimer {
+        private long   lastPulse;
+        private long   lastOverlayUpdate;
+        private long   pulses;
+        private int    frameIndex;
+        private int    frameCount;
+        private double pendingUpdates;
+        private long   updates;
+        private long   redrawsAtLastUpdate;
+        private long   eventsAtLastUpdate;
+        private long   bytesAtLastUpdate;
+        private long   pulsesAtLastUpdate;
+
+
+        @Override public void handle(final long now) {
+            if (0 == lastPulse) {
+                lastPulse           = now;
+                lastOverlayUpdate   = now;
+                redrawsAtLastUpdate = renderer.getDrawCount();
+                eventsAtLastUpdate  = eventCount;
+                bytesAtLastUpdate   = AllocationCounter.totalAllocatedBytes();
+                return;
+            }
+            frameTimes[frameIndex] = now - lastPulse;
+            frameIndex = (frameIndex + 1) % FRAME_SAMPLES;
+            frameCount = Math.min(frameCount + 1, FRAME_SAMPLES);
+            pulses++;
+            automate(now, (now - lastPulse) / 1e9);
+            lastPulse = now;
+            if (now - lastOverlayUpdate >= OVERLAY_INTERVAL) { updateOverlay(now); }
+        }
+
+        // Applies all automation updates that are due since the last pulse, each one is a separate value change
+        private void automate(final long now, final double elapsedSeconds) {
+            if (automated.isEmpty()) { return; }
+            pendingUpdates += elapsedSeconds * rate;
+            final int due = (int) pendingUpdates;
+            pendingUpdates -= due;
+            for (int u = 0 ; u < due ; u++) {
+                updates++;
+                for (int i = 0 ; i < automated.size() ; i++) {
+                    final double phase = updates * 0.02 + i * 0.3;
+                    automated.get(i).setSliderValue(-50 + 50 * (1 + Math.sin(phase)), Origin.ANIMATION);
+                }
+            }
+        }
+
+        private void updateOverlay(final long now) {
+            final double seconds = (now - lastOverlayUpdate) / 1e9;
+            final long   redraws = renderer.getDrawCount();
+            final long   events  = eventCount;
+            final long   bytes   = AllocationCounter.totalAllocatedBytes();
+
+            System.arraycopy(frameTimes, 0, sortedFrameTimes, 0, frameCount);
+            Arrays.sort(sortedFrameTimes, 0, frameCount);
+            final String allocationRate = bytes < 0 || bytesAtLastUpdate < 0 ? "n/a" : String.format(Locale.US, "%.1f MB/s", Math.max(0, bytes - bytesAtLastUpdate) / MB / seconds);
+            overlay.setText(String.format(Locale.US,
+                                          "Sliders     %d (%d automated at %.0f Hz)%n" +
+                                          "Pulses      %.1f fps%n" +
+                                          "Frame time  p50 %.1f ms, p95 %.1f ms, p99 %.1f ms, max %.1f ms%n" +
+                                          "Redraws     %.0f /s%n" +
+                                          "Events      %.0f /s%n" +
+                                          "Allocation  %s",
+                                          columns * rows, automated.size(), rate,
+                                          (pulses - pulsesAtLastUpdate) / seconds,
+                                          percentile(0.5), percentile(0.95), percentile(0.99), percentile(1.0),
+                                          (redraws - redrawsAtLastUpdate) / seconds,
+                                          (events - eventsAtLastUpdate) / seconds,
+                                          allocationRate));
+
+            lastOverlayUpdate   = now;
+            pulsesAtLastUpdate  = pulses;
+            redrawsAtLastUpdate = redraws;
+            eventsAtLastUpdate  = events;
+            bytesAtLastUpdate   = AllocationCounter.totalAllocatedBytes();
+        }
+
+        private double percentile(final double percentile) {
+            if (0 == frameCount) { return 0; }
+            final int index = Math.min(frameCount - 1, (int) Math.ceil(percentile * frameCount) - 1);
+            return sortedFrameTimes[Math.max(0, index)] / 1e6;
+        }
+    }
+}
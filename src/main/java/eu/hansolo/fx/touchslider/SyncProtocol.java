@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2022 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.fx.touchslider;
+
+import java.nio.ByteBuffer;
+
+
+/**
+ * Binary frames of the slider synchronization (big endian).
+ * Every frame starts with a type byte and an entry count:
+ * SNAPSHOT: type, count, count x value (double), the values of all sliders
+ * DELTA   : type, count, count x (index (unsigned short), value (double)), only the changed sliders
+ */
+final class SyncProtocol {
+    static final byte SNAPSHOT       = 1;
+    static final byte DELTA          = 2;
+    static final int  HEADER_SIZE    = 5;
+    static final int  SNAPSHOT_ENTRY = 8;
+    static final int  DELTA_ENTRY    = 10;
+    static final int  MAX_SLIDERS    = 0xFFFF;
+
+
+    // ******************** Constructors **************************************
+    private SyncProtocol() {}
+
+
+    // ******************** Methods *******************************************
+    static int maxFrameSize(final int noOfSliders) { return HEADER_SIZE + noOfSliders * DELTA_ENTRY; }
+
+    static void putSnapshot(final ByteBuffer buffer, final double[] values, final int count) {
+        buffer.put(SNAPSHOT);
+        buffer.putInt(count);
+        for (int i = 0 ; i < count ; i++) { buffer.putDouble(values[i]); }
+    }
+
+    static void putDelta(final ByteBuffer buffer, final int[] indices, final double[] values, final int count) {
+        buffer.put(DELTA);
+        buffer.putInt(count);
+        for (int i = 0 ; i < count ; i++) {
+            buffer.putShort((short) indices[i]);
+            buffer.putDouble(values[i]);
+        }
+    }
+
+    /**
+     * Returns the entry count of the next frame or -1 if the header of the next frame is not complete
+     * @param buffer buffer in read mode
+     * @return the entry count of the next frame
+     */
+    static int peekCount(final ByteBuffer buffer) {
+        return buffer.remaining() < HEADER_SIZE ? -1 : buffer.getInt(buffer.position() + 1);
+    }
+
+    /**
+     * Decodes the next complete frame of the given buffer (in read mode) into indices and values
+     * @param buffer
+     * @param indices array with at least peekCount() elements
+     * @param values array with at least peekCount() elements
+     * @return the number of decoded entries or -1 if the buffer does not contain a complete frame
+     */
+    static int get(final ByteBuffer buffer, final int[] indices, final double[] values) {
+        if (buffer.remaining() < HEADER_SIZE) { return -1; }
+        final int  start = buffer.position();
+        final byte type  = buffer.get(start);
+        final int  count = buffer.getInt(start + 1);
+        if (count < 0 || count > MAX_SLIDERS || (SNAPSHOT != type && DELTA != type)) { throw new IllegalStateException("Corrupt sync frame"); }
+        final int size = HEADER_SIZE + count * (SNAPSHOT == type ? SNAPSHOT_ENTRY : DELTA_ENTRY);
+        if (buffer.remaining() < size) { return -1; }
+        buffer.position(start + HEADER_SIZE);
+        for (int i = 0 ; i < count ; i++) {
+            indices[i] = SNAPSHOT == type ? i : Short.toUnsignedInt(buffer.getShort());
+            values[i]  = buffer.getDouble();
+        }
+        return count;
+    }
+}
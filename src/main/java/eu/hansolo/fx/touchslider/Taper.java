@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2022 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.fx.touchslider;
+
+import java.util.function.DoubleUnaryOperator;
+
+
+/**
+ * Maps the normalized position of a TouchSlider (0 - 1) to the normalized value (0 - 1)
+ * and back. The slider value is minValue + range * taper.toValue(position).
+ * All non linear tapers are backed by precomputed lookup tables.
+ */
+public interface Taper {
+    Taper LINEAR = new Taper() {
+        @Override public double toValue(final double position) { return position; }
+        @Override public double toPosition(final double value) { return value; }
+    };
+
+
+    /**
+     * Returns the normalized value (0 - 1) for the given normalized position (0 - 1)
+     * @param position
+     * @return the normalized value for the given normalized position
+     */
+    double toValue(final double position);
+
+    /**
+     * Returns the normalized position (0 - 1) for the given normalized value (0 - 1)
+     * @param value
+     * @return the normalized position for the given normalized value
+     */
+    double toPosition(final double value);
+
+
+    /**
+     * Returns a taper for the given monotonic curve, the curve will be normalized
+     * so that it starts at 0 and ends at 1
+     * @param curve
+     * @return a taper that is backed by lookup tables of the given curve
+     */
+    static Taper of(final DoubleUnaryOperator curve) { return new LookupTaper(curve); }
+
+    /**
+     * Returns an exponential taper (fine resolution at the start of the range), the
+     * bigger the curvature the steeper the curve
+     * @param curvature
+     * @return an exponential taper
+     */
+    static Taper exponential(final double curvature) {
+        if (Double.compare(curvature, 0) <= 0) { return LINEAR; }
+        return of(position -> Math.expm1(curvature * position));
+    }
+
+    /**
+     * Returns a logarithmic taper (fine resolution at the end of the range), the
+     * bigger the curvature the steeper the curve
+     * @param curvature
+     * @return a logarithmic taper
+     */
+    static Taper logarithmic(final double curvature) {
+        if (Double.compare(curvature, 0) <= 0) { return LINEAR; }
+        final double scale = Math.expm1(curvature);
+        return of(position -> Math.log1p(position * scale));
+    }
+
+    /**
+     * Returns a taper that mimics an audio fader for a slider with a range in decibel.
+     * The gain follows a fourth power law of the position which puts 0 dB at
+     * roughly 70% of the travel for a range of -60 dB to +10 dB.
+     * @param minDb the minimum value of the slider in dB (e.g. -60)
+     * @param maxDb the maximum value of the slider in dB (e.g. 10)
+     * @return a taper for a slider with a range in decibel
+     */
+    static Taper decibel(final double minDb, final double maxDb) {
+        if (Double.compare(maxDb, minDb) <= 0) { return LINEAR; }
+        final double range = maxDb - minDb;
+        // position at which the fourth power law reaches minDb
+        final double floor = Math.pow(10, -range / 80);
+        return of(position -> (80 * Math.log10(floor + position * (1 - floor)) + range) / range);
+    }
+}
@@ -0,0 +1,31 @@
+/*
+ * Copyright (c) 2022 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.fx.touchslider;
+
+/**
+ * Defines how a TouchSlider renders its value and name text
+ */
+public enum TextMode {
+    /** The text is laid out and drawn by fillText on every redraw */
+    FILL_TEXT,
+    /**
+     * The characters of the value text and the name are rasterized once into image atlases
+     * and drawn with image blits, the characters are shared by all sliders of the same style,
+     * font size and orientation (rebuilt on font size, color, orientation or format changes)
+     */
+    GLYPH_ATLAS
+}
@@ -16,13 +16,18 @@
 
 package eu.hansolo.fx.touchslider;
 
-import javafx.application.ConditionalFeature;
-import javafx.application.Platform;
+import eu.hansolo.fx.touchslider.TouchSliderEvent.Origin;
+import eu.hansolo.fx.touchslider.TouchSliderEvent.Phase;
+import javafx.animation.PauseTransition;
 import javafx.beans.DefaultProperty;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.BooleanPropertyBase;
 import javafx.beans.property.DoubleProperty;
 import javafx.beans.property.DoublePropertyBase;
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.ObjectPropertyBase;
+import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.beans.property.ReadOnlyBooleanWrapper;
 import javafx.beans.value.ObservableValue;
 import javafx.css.CssMetaData;
 import javafx.css.Styleable;
@@ -33,31 +38,49 @@ import javafx.css.StyleableStringProperty;
 import javafx.event.EventHandler;
 import javafx.event.EventType;
 import javafx.geometry.Orientation;
-import javafx.geometry.VPos;
+import javafx.scene.Node;
 import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.input.MouseButton;
 import javafx.scene.input.MouseEvent;
 import javafx.scene.input.TouchEvent;
 import javafx.scene.input.TouchPoint;
 import javafx.scene.layout.Region;
 import javafx.scene.paint.Color;
-import javafx.scene.text.Font;
-import javafx.scene.text.TextAlignment;
+import javafx.scene.shape.Rectangle;
+import javafx.util.Duration;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 
 @DefaultProperty("children")
 public class TouchSlider extends Region {
     private static final String                                    CSS_FILE              = "touch-slider.css";
+    private static       String                                    userAgentStyleSheet;
+    private static final VarHandle                                 EVENT_SEQUENCE;
     private static final double                                    PREFERRED_WIDTH       = 250;
     private static final double                                    PREFERRED_HEIGHT      = 250;
     private static final double                                    MINIMUM_WIDTH         = 50;
     private static final double                                    MINIMUM_HEIGHT        = 50;
     private static final double                                    MAXIMUM_WIDTH         = 1024;
     private static final double                                    MAXIMUM_HEIGHT        = 1024;
+    private static final double                                    CANVAS_BUCKET_SIZE    = 64;
+    private static final Duration                                  RESIZE_SETTLE_DELAY   = Duration.millis(150);
+    private static final Duration                                  QUALITY_IDLE_TIMEOUT  = Duration.millis(250);
+    private static final Duration                                  PREDICTION_TIMEOUT    = Duration.millis(50);
+    private static final double                                    MAX_PREDICTION        = 0.1;
+    private static final int                                       MOUSE_POINTER_ID      = -1;
+    private static final double                                    METER_PEAK_HOLD       = 1000;
+    private static final double                                    METER_DECAY_RATE      = 1.5;
     private static final StyleablePropertyFactory<TouchSlider>     FACTORY               = new StyleablePropertyFactory<>(Region.getClassCssMetaData());
     private static final CssMetaData<TouchSlider, Orientation>     ORIENTATION           = FACTORY.createEnumCssMetaData(Orientation.class, "-orientation", s -> s.orientation, Orientation.HORIZONTAL, false);
     private static final CssMetaData<TouchSlider, Color>           BAR_BACKGROUND_COLOR  = FACTORY.createColorCssMetaData("-bar-background-color", s -> s.barBackgroundColor, Color.color(Color.BLUE.getRed(), Color.BLUE.getGreen(), Color.BLUE.getBlue(), 0.3), false);
@@ -74,7 +97,12 @@ public class TouchSlider extends Region {
     private static final CssMetaData<TouchSlider, Boolean>         START_FROM_ZERO       = FACTORY.createBooleanCssMetaData("-start-from-zero", s -> s.startFromZero, false, false);
     private static final CssMetaData<TouchSlider, Boolean>         SNAP_TO_ZERO          = FACTORY.createBooleanCssMetaData("-snap-to-zero", s -> s.snapToZero, false, false);
     private static final CssMetaData<TouchSlider, String>          FORMAT_STRING         = FACTORY.createStringCssMetaData("-format-string", s -> s.formatString, "%.1f", false);
-    private              String                                    userAgentStyleSheet;
+    private static final CssMetaData<TouchSlider, Boolean>         METER_VISIBLE         = FACTORY.createBooleanCssMetaData("-meter-visible", s -> s.meterVisible, false, false);
+    private static final CssMetaData<TouchSlider, String>          RENDERER              = FACTORY.createStringCssMetaData("-renderer", s -> s.rendererClassName, "", false);
+    private static final Map<String, TouchSliderRenderer>          CSS_RENDERERS         = new HashMap<>();
+    private static final Logger                                    CSS_LOGGER            = Logger.getLogger("javafx.css");
+    private static final CssMetaData<TouchSlider, Color>           METER_COLOR           = FACTORY.createColorCssMetaData("-meter-color", s -> s.meterColor, Color.LIME, false);
+    private static final CssMetaData<TouchSlider, TextMode>        TEXT_MODE             = FACTORY.createEnumCssMetaData(TextMode.class, "-text-mode", s -> s.textMode, TextMode.FILL_TEXT, false);
     private              double                                    width;
     private              double                                    height;
     private              StyleableObjectProperty<Orientation>      orientation;
@@ -97,25 +125,106 @@ public class TouchSlider extends Region {
     private              DoubleProperty                            range;
     private              BooleanProperty                           returnToZero;
     private              StyleableStringProperty                   formatString;
+    private              StyleableObjectProperty<TextMode>         textMode;
     private              Canvas                                    canvas;
     private              GraphicsContext                           ctx;
+    private              Rectangle                                 canvasClip;
+    private              PauseTransition                           resizeSettleTimer;
     private              boolean                                   isZeroInRange;
+    private              double                                    zeroPosition;
+    private              ObjectProperty<Taper>                     taper;
     private              EventHandler<MouseEvent>                  mouseHandler;
     private              EventHandler<TouchEvent>                  touchHandler;
-    private              CopyOnWriteArrayList<TouchSliderObserver> observers;
+    private              boolean                                   touchSeen;
+    private              Origin                                    pointerOrigin;
+    private              int                                       pointerId;
+    private              ObserverRegistry                          observers;
+    private              TouchSliderStyle                          style;
+    private              boolean                                   styleDirty;
+    private              ObjectProperty<QualityPolicy>             qualityPolicy;
+    private              DoubleProperty                            frameBudget;
+    private              ReadOnlyBooleanWrapper                    gestureActive;
+    private              boolean                                   interactive;
+    private              boolean                                   degraded;
+    private              PauseTransition                           qualityIdleTimer;
+    private              String                                    valueText;
+    private              double                                    valueTextValue;
+    private              String                                    valueTextFormat;
+                         SliderGroup                               group;
+    private              int                                       batchDepth;
+    private              boolean                                   batchEventPending;
+    private              double                                    batchOldValue;
+    private              SliderGroup                               batchGroup;
+    private              Origin                                    inputOrigin;
+    private              Phase                                     inputPhase;
+    private              long                                      inputTimestamp;
+    private volatile     long                                      eventSequence;
+    private              long                                      valueChanges;
+    private              ObjectProperty<Smoothing>                 smoothing;
+    private              DoubleProperty                            smoothingTime;
+    private              Smoother                                  smoother;
+    // END event of a gesture that is fired after the smoothed value settled
+    private              boolean                                   endPending;
+    private              Origin                                    endPendingOrigin;
+    private              long                                      endPendingTimestamp;
+    private              StyleableBooleanProperty                  meterVisible;
+    private              StyleableObjectProperty<Color>            meterColor;
+    private              MeterAccumulator                          meterAccumulator;
+    private              double[]                                  meterWindow;
+    private              Canvas                                    meterCanvas;
+    private              GraphicsContext                           meterCtx;
+    private              boolean                                   meterRegistered;
+                         int                                       meterPulseIndex;
+    private              double                                    meterPeakHoldTime;
+    private              double                                    meterDecayRate;
+    private              long                                      lastMeterPulse;
+    private              long                                      meterPeakTime;
+    private              double                                    meterFloor;
+    private              double                                    meterLevel;
+    private              double                                    meterPeak;
+    private              boolean                                   meterDirty;
+    private              ObjectProperty<TouchSliderRenderer>       renderer;
+    private              StyleableStringProperty                   rendererClassName;
+    private              TouchSliderRenderer                       effectiveRenderer;
+    private              TouchSliderGeometry                       geometry;
+    private              boolean                                   geometryDirty;
+    private              DoubleProperty                            predictionHorizon;
+    private              DoubleProperty                            predictionSmoothing;
+    private              VelocityEstimator                         velocityEstimator;
+    private              boolean                                   predicting;
+    private              double                                    predictedPosition;
+    private              PauseTransition                           predictionTimer;
+
+    static {
+        try {
+            EVENT_SEQUENCE = MethodHandles.lookup().findVarHandle(TouchSlider.class, "eventSequence", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
 
 
     // ******************** Constructors **************************************
     public TouchSlider() {
         orientation          = new StyleableObjectProperty<>(Orientation.HORIZONTAL) {
-            @Override protected void invalidated() { redraw(); }
+            @Override protected void invalidated() { invalidateStyle(); }
             @Override public Object getBean() { return TouchSlider.this; }
             @Override public String getName() { return "orientation"; }
             @Override public CssMetaData<? extends Styleable, Orientation> getCssMetaData() { return ORIENTATION; }
         };
+        taper                = new ObjectPropertyBase<>(Taper.LINEAR) {
+            @Override protected void invalidated() {
+                if (null == get()) { set(Taper.LINEAR); }
+                updateZero();
+                redraw();
+                deliver(getSliderValue());
+            }
+            @Override public Object getBean() { return TouchSlider.this; }
+            @Override public String getName() { return "taper"; }
+        };
         minValue             = new DoublePropertyBase(0) {
             @Override protected void invalidated() {
-                isZeroInRange = get() < 0 && (get() + getRange()) > 0;
+                updateZero();
                 redraw();
             }
             @Override public Object getBean() { return TouchSlider.this; }
@@ -124,7 +233,8 @@ public class TouchSlider extends Region {
         range                = new DoublePropertyBase(1.0) {
             @Override protected void invalidated() {
                 if (get() < 0) { set(1); }
-                isZeroInRange = getMinValue() < 0 && (getMinValue() + get()) > 0;
+                updateZero();
+                if (null != smoother) { updateSmoother(); }
                 redraw();
             }
             @Override public Object getBean() { return TouchSlider.this; }
@@ -133,10 +243,10 @@ public class TouchSlider extends Region {
         returnToZero         = new BooleanPropertyBase(false) {
             @Override protected void invalidated() {
                 if (get()) {
-                    double value     = getMinValue() + (TouchSlider.this.getRange() * TouchSlider.this.getValue());
+                    double value     = toRealValue(TouchSlider.this.getValue());
                     double snapRange = getRange();
                     if (value > -snapRange && value < snapRange) {
-                        TouchSlider.this.setValue((Math.abs(getMinValue()) / getRange()));
+                        TouchSlider.this.setValue(zeroPosition);
                     }
                 }
             }
@@ -144,78 +254,83 @@ public class TouchSlider extends Region {
             @Override public String getName() { return "returnToZero"; }
         };
         barBackgroundColor   = new StyleableObjectProperty<>(Color.color(Color.BLUE.getRed(), Color.BLUE.getGreen(), Color.BLUE.getBlue(), 0.3)) {
-            @Override protected void invalidated() { redraw(); }
+            @Override protected void invalidated() { invalidateStyle(); }
             @Override public Object getBean() { return TouchSlider.this; }
             @Override public String getName() { return "barBackgroundColor"; }
             @Override public CssMetaData<? extends Styleable, Color> getCssMetaData() { return BAR_BACKGROUND_COLOR; }
         };
         barColor             = new StyleableObjectProperty<>(Color.BLUE) {
-            @Override protected void invalidated() { redraw(); }
+            @Override protected void invalidated() { invalidateStyle(); }
             @Override public Object getBean() { return TouchSlider.this; }
             @Override public String getName() { return "barColor"; }
             @Override public CssMetaData<? extends Styleable, Color> getCssMetaData() { return BAR_COLOR; }
         };
         thumbColor           = new StyleableObjectProperty<>(Color.BLUE) {
-            @Override protected void invalidated() { redraw(); }
+            @Override protected void invalidated() { invalidateStyle(); }
             @Override public Object getBean() { return TouchSlider.this; }
             @Override public String getName() { return "thumbColor"; }
             @Override public CssMetaData<? extends Styleable, Color> getCssMetaData() { return THUMB_COLOR; }
         };
         valueTextColor       = new StyleableObjectProperty<>(Color.WHITE) {
-            @Override protected void invalidated() { redraw(); }
+            @Override protected void invalidated() { invalidateStyle(); }
             @Override public Object getBean() { return TouchSlider.this; }
             @Override public String getName() { return "valueTextColor"; }
             @Override public CssMetaData<? extends Styleable, Color> getCssMetaData() { return VALUE_TEXT_COLOR; }
         };
         nameTextColor        = new StyleableObjectProperty<>(Color.WHITE) {
-            @Override protected void invalidated() { redraw(); }
+            @Override protected void invalidated() { invalidateStyle(); }
             @Override public Object getBean() { return TouchSlider.this; }
             @Override public String getName() { return "nameTextColor"; }
             @Override public CssMetaData<? extends Styleable, Color> getCssMetaData() { return NAME_TEXT_COLOR; }
         };
         zeroColor            = new StyleableObjectProperty<>(Color.WHITE) {
-            @Override protected void invalidated() { redraw(); }
+            @Override protected void invalidated() { invalidateStyle(); }
             @Override public Object getBean() { return TouchSlider.this; }
             @Override public String getName() { return "zeroColor"; }
             @Override public CssMetaData<? extends Styleable, Color> getCssMetaData() { return ZERO_COLOR; }
         };
         valueVisible         = new StyleableBooleanProperty() {
-            @Override protected void invalidated() { redraw(); }
+            @Override protected void invalidated() { invalidateStyle(); }
             @Override public Object getBean() { return TouchSlider.this; }
             @Override public String getName() { return "valueVisible"; }
             @Override public CssMetaData<? extends Styleable, Boolean> getCssMetaData() { return VALUE_VISIBLE; }
         };
         nameVisible          = new StyleableBooleanProperty(true) {
-            @Override protected void invalidated() { redraw(); }
+            @Override protected void invalidated() { invalidateStyle(); }
             @Override public Object getBean() { return TouchSlider.this; }
             @Override public String getName() { return "nameVisible"; }
             @Override public CssMetaData<? extends Styleable, Boolean> getCssMetaData() { return NAME_VISIBLE; }
         };
         name                 = new StyleableStringProperty("") {
-            @Override protected void invalidated() { redraw(); }
+            @Override protected void invalidated() {
+                // The name is not part of the shared style, only the geometry of this slider changes
+                geometryDirty = true;
+                redraw();
+            }
             @Override public Object getBean() { return TouchSlider.this; }
             @Override public String getName() { return "name"; }
             @Override public CssMetaData<? extends Styleable, String> getCssMetaData() { return NAME; }
         };
         barBackbroundFilled  = new StyleableBooleanProperty(true) {
-            @Override protected void invalidated() { redraw(); }
+            @Override protected void invalidated() { invalidateStyle(); }
             @Override public Object getBean() { return TouchSlider.this; }
             @Override public String getName() { return "barBackgroundFilled"; }
             @Override public CssMetaData<? extends Styleable, Boolean> getCssMetaData() { return BAR_BACKGROUND_FILLED; }
         };
         showZero             = new StyleableBooleanProperty(true) {
-            @Override protected void invalidated() { redraw(); }
+            @Override protected void invalidated() { invalidateStyle(); }
             @Override public Object getBean() { return TouchSlider.this; }
             @Override public String getName() { return "showZero"; }
             @Override public CssMetaData<? extends Styleable, Boolean> getCssMetaData() { return SHOW_ZERO; }
         };
         startFromZero        = new StyleableBooleanProperty(false) {
-            @Override protected void invalidated() { redraw(); }
+            @Override protected void invalidated() { invalidateStyle(); }
             @Override public Object getBean() { return TouchSlider.this; }
             @Override public String getName() { return "startFromZero"; }
             @Override public CssMetaData<? extends Styleable, Boolean> getCssMetaData() { return START_FROM_ZERO; }
         };
         snapToZero           = new StyleableBooleanProperty(false) {
+            @Override protected void invalidated() { invalidateStyle(); }
             @Override public Object getBean() { return TouchSlider.this; }
             @Override public String getName() { return "snapToZero"; }
             @Override public CssMetaData<? extends Styleable, Boolean> getCssMetaData() { return SNAP_TO_ZERO; }
@@ -224,76 +339,143 @@ public class TouchSlider extends Region {
         value                = new DoublePropertyBase(0) {
             @Override protected void invalidated() {
                 if (Double.compare(get(), oldValue) == 0) { return; }
-                redraw();
-                fireTouchSliderEvent(new TouchSliderEvent(TouchSlider.this, getMinValue() + getRange() * get()));
+                final double previousValue = oldValue;
                 oldValue = get();
+                // Values that are not set by the drag replace the predicted position
+                if (Origin.MOUSE != inputOrigin && Origin.TOUCH != inputOrigin) { predicting = false; }
+                redraw();
+                // Within a batched update the event is fired (and the group follows) when the batch ends
+                if (batchDepth > 0) {
+                    if (!batchEventPending) { batchOldValue = previousValue; }
+                    batchEventPending = true;
+                    return;
+                }
+                if (null != group && group.isUpdating()) {
+                    // A member that follows its group is reported by the group event
+                    if (group.isFollowerEvents()) { deliver(toRealValue(get())); }
+                    return;
+                }
+                deliver(toRealValue(get()));
+                // The other members of a group follow in one pass that ends with one group event
+                if (null != group) { group.memberChanged(TouchSlider.this, previousValue); }
             }
             @Override public Object getBean() { return TouchSlider.this; }
             @Override public String getName() { return "value"; }
         };
         formatString         = new StyleableStringProperty("%.1f") {
-            @Override protected void invalidated() { redraw(); }
+            @Override protected void invalidated() { invalidateStyle(); }
             @Override public Object getBean() { return TouchSlider.this; }
             @Override public String getName() { return "formatString"; }
             @Override public CssMetaData<? extends Styleable, String> getCssMetaData() { return FORMAT_STRING; }
         };
-        observers            = new CopyOnWriteArrayList<>();
-        mouseHandler         = e -> {
-            EventType<? extends MouseEvent> type = e.getEventType();
-            double x = e.getX();
-            double y = e.getY();
-            if (MouseEvent.MOUSE_DRAGGED.equals(type)) {
-                if (Orientation.HORIZONTAL.equals(getOrientation())) {
-                    setValue(clamp(0.0, 1.0, x / width));
-                } else {
-                    setValue(clamp(0.0, 1.0, 1.0 - y / height));
-                }
-            } else if (MouseEvent.MOUSE_RELEASED.equals(type)) {
-                if (getReturnToZero() && isZeroInRange) {
-                    double value = getMinValue() + (getRange() * getValue());
-                    double snapRange = getRange();
-                    if (value > -snapRange && value < snapRange) {
-                        setValue((Math.abs(getMinValue()) / getRange()));
-                    }
-                } else if (getSnapToZero() && isZeroInRange) {
-                    double value     = getMinValue() + (getRange() * getValue());
-                    double snapRange = getRange() * 0.015;
-                    if (value > -snapRange && value < snapRange) {
-                        setValue((Math.abs(getMinValue()) / getRange()));
-                    }
-                }
+        textMode             = new StyleableObjectProperty<>(TextMode.FILL_TEXT) {
+            @Override protected void invalidated() {
+                if (null == get()) { set(TextMode.FILL_TEXT); }
+                invalidateStyle();
             }
+            @Override public Object getBean() { return TouchSlider.this; }
+            @Override public String getName() { return "textMode"; }
+            @Override public CssMetaData<? extends Styleable, TextMode> getCssMetaData() { return TEXT_MODE; }
         };
-        touchHandler         = e -> {
-            EventType<? extends TouchEvent> type  = e.getEventType();
-            TouchPoint                      point = e.getTouchPoint();
-            double                          x     = point.getX();
-            double                          y     = point.getY();
-            if (TouchEvent.TOUCH_MOVED.equals(type)) {
-                if (Orientation.HORIZONTAL.equals(getOrientation())) {
-                    setValue(clamp(0.0, 1.0, x / width));
-                } else {
-                    setValue(clamp(0.0, 1.0, 1.0 - y / height));
-                }
-            } else if (TouchEvent.TOUCH_RELEASED.equals(type)) {
-                if (getReturnToZero() && isZeroInRange) {
-                    double value = getMinValue() + (getRange() * getValue());
-                    double snapRange = getRange();
-                    if (value > -snapRange && value < snapRange) {
-                        setValue((Math.abs(getMinValue()) / getRange()));
-                    }
-                } else if (getSnapToZero() && isZeroInRange) {
-                    double value     = getMinValue() + (getRange() * getValue());
-                    double snapRange = getRange() * 0.015;
-                    if (value > -snapRange && value < snapRange) {
-                        setValue((Math.abs(getMinValue()) / getRange()));
-                    }
-                }
+        meterVisible         = new StyleableBooleanProperty(false) {
+            @Override protected void invalidated() { updateMeterRegistration(); }
+            @Override public Object getBean() { return TouchSlider.this; }
+            @Override public String getName() { return "meterVisible"; }
+            @Override public CssMetaData<? extends Styleable, Boolean> getCssMetaData() { return METER_VISIBLE; }
+        };
+        meterColor           = new StyleableObjectProperty<>(Color.LIME) {
+            @Override protected void invalidated() { invalidateStyle(); }
+            @Override public Object getBean() { return TouchSlider.this; }
+            @Override public String getName() { return "meterColor"; }
+            @Override public CssMetaData<? extends Styleable, Color> getCssMetaData() { return METER_COLOR; }
+        };
+        renderer             = new ObjectPropertyBase<>() {
+            @Override protected void invalidated() { updateRenderer(); }
+            @Override public Object getBean() { return TouchSlider.this; }
+            @Override public String getName() { return "renderer"; }
+        };
+        rendererClassName    = new StyleableStringProperty("") {
+            @Override protected void invalidated() { updateRenderer(); }
+            @Override public Object getBean() { return TouchSlider.this; }
+            @Override public String getName() { return "rendererClassName"; }
+            @Override public CssMetaData<? extends Styleable, String> getCssMetaData() { return RENDERER; }
+        };
+        predictionHorizon    = new DoublePropertyBase(0) {
+            @Override protected void invalidated() {
+                if (get() < 0) { set(0); }
+                if (0 == get()) { stopPrediction(); }
+            }
+            @Override public Object getBean() { return TouchSlider.this; }
+            @Override public String getName() { return "predictionHorizon"; }
+        };
+        predictionSmoothing  = new DoublePropertyBase(0.5) {
+            @Override protected void invalidated() { if (get() < 0 || get() >= 1) { set(clamp(0, 0.95, get())); } }
+            @Override public Object getBean() { return TouchSlider.this; }
+            @Override public String getName() { return "predictionSmoothing"; }
+        };
+        velocityEstimator    = new VelocityEstimator();
+        effectiveRenderer    = TouchSliderRenderer.DEFAULT;
+        meterAccumulator     = new MeterAccumulator();
+        meterWindow          = new double[3];
+        meterPulseIndex      = -1;
+        meterPeakHoldTime    = METER_PEAK_HOLD;
+        meterDecayRate       = METER_DECAY_RATE;
+        observers            = new ObserverRegistry();
+        styleDirty           = true;
+        inputOrigin          = Origin.PROGRAMMATIC;
+        inputPhase           = Phase.MOVE;
+        qualityPolicy        = new ObjectPropertyBase<>(QualityPolicy.FULL) {
+            @Override protected void invalidated() {
+                if (null == get()) { set(QualityPolicy.FULL); }
+                degraded = false;
+                redraw();
+            }
+            @Override public Object getBean() { return TouchSlider.this; }
+            @Override public String getName() { return "qualityPolicy"; }
+        };
+        frameBudget          = new DoublePropertyBase(4.0) {
+            @Override protected void invalidated() { if (get() <= 0) { set(4.0); } }
+            @Override public Object getBean() { return TouchSlider.this; }
+            @Override public String getName() { return "frameBudget"; }
+        };
+        gestureActive        = new ReadOnlyBooleanWrapper(TouchSlider.this, "gestureActive", false);
+        smoothing            = new ObjectPropertyBase<>(Smoothing.NONE) {
+            @Override protected void invalidated() {
+                if (null == get()) { set(Smoothing.NONE); }
+                final boolean wasSmoothing = null != smoother && Smoothing.NONE != smoother.getMode();
+                updateSmoother();
+                // Start smoothing from the current value
+                if (!wasSmoothing && Smoothing.NONE != get()) { smoother.jumpTo(getSliderValue()); }
             }
+            @Override public Object getBean() { return TouchSlider.this; }
+            @Override public String getName() { return "smoothing"; }
+        };
+        smoothingTime        = new DoublePropertyBase(20) {
+            @Override protected void invalidated() {
+                if (get() < 0) { set(0); }
+                updateSmoother();
+            }
+            @Override public Object getBean() { return TouchSlider.this; }
+            @Override public String getName() { return "smoothingTime"; }
+        };
+        mouseHandler         = e -> {
+            // Mouse events that were synthesized from touch events duplicate the touch input
+            if (e.isSynthesized() && touchSeen) { return; }
+            final EventType<? extends MouseEvent> type  = e.getEventType();
+            // Only the primary button moves the slider (e.g. a secondary click opens a context menu)
+            if (MouseEvent.MOUSE_DRAGGED.equals(type) ? !e.isPrimaryButtonDown() : MouseButton.PRIMARY != e.getButton()) { return; }
+            final Phase                           phase = MouseEvent.MOUSE_PRESSED.equals(type) ? Phase.START : MouseEvent.MOUSE_RELEASED.equals(type) ? Phase.END : Phase.MOVE;
+            pointer(Origin.MOUSE, MOUSE_POINTER_ID, phase, e.getX(), e.getY(), System.nanoTime());
+        };
+        touchHandler         = e -> {
+            touchSeen = true;
+            final EventType<? extends TouchEvent> type  = e.getEventType();
+            final TouchPoint                      point = e.getTouchPoint();
+            final Phase                           phase = TouchEvent.TOUCH_PRESSED.equals(type) ? Phase.START : TouchEvent.TOUCH_RELEASED.equals(type) ? Phase.END : Phase.MOVE;
+            pointer(Origin.TOUCH, point.getId(), phase, point.getX(), point.getY(), System.nanoTime());
         };
 
         initGraphics();
-        registerListeners();
     }
 
 
@@ -309,24 +491,40 @@ public class TouchSlider extends Region {
         }
 
         getStyleClass().add("touch-slider");
+    }
 
-        canvas = new Canvas(PREFERRED_WIDTH, PREFERRED_HEIGHT);
-        ctx    = canvas.getGraphicsContext2D();
+    // The canvas is created with the first real size in resize()
+    private void createCanvas() {
+        canvas     = new Canvas(width, height);
+        canvas.setManaged(false);
+        canvasClip = new Rectangle(width, height);
+        canvas.setClip(canvasClip);
+        ctx        = canvas.getGraphicsContext2D();
+        geometry   = new TouchSliderGeometry();
 
         getChildren().setAll(canvas);
-    }
 
-    private void registerListeners() {
-        widthProperty().addListener(o -> resize());
-        heightProperty().addListener(o -> resize());
+        // Touch and mouse are always handled, hybrid devices deliver both
+        canvas.addEventHandler(TouchEvent.TOUCH_PRESSED, touchHandler);
+        canvas.addEventHandler(TouchEvent.TOUCH_MOVED, touchHandler);
+        canvas.addEventHandler(TouchEvent.TOUCH_RELEASED, touchHandler);
+        canvas.addEventHandler(MouseEvent.MOUSE_PRESSED, mouseHandler);
+        canvas.addEventHandler(MouseEvent.MOUSE_DRAGGED, mouseHandler);
+        canvas.addEventHandler(MouseEvent.MOUSE_RELEASED, mouseHandler);
+    }
 
-        if (Platform.isSupported(ConditionalFeature.INPUT_MULTITOUCH)) {
-            canvas.addEventHandler(TouchEvent.TOUCH_MOVED, touchHandler);
-            canvas.addEventHandler(TouchEvent.TOUCH_RELEASED, touchHandler);
-        } else {
-            canvas.addEventHandler(MouseEvent.MOUSE_DRAGGED, mouseHandler);
-            canvas.addEventHandler(MouseEvent.MOUSE_RELEASED, mouseHandler);
-        }
+    // The meter has its own layer below the slider canvas, it will be created with the first meter repaint
+    private void createMeterCanvas() {
+        meterCanvas = new Canvas(canvas.getWidth(), canvas.getHeight());
+        meterCanvas.setManaged(false);
+        meterCanvas.setMouseTransparent(true);
+        final Rectangle meterClip = new Rectangle();
+        meterClip.widthProperty().bind(canvasClip.widthProperty());
+        meterClip.heightProperty().bind(canvasClip.heightProperty());
+        meterCanvas.setClip(meterClip);
+        meterCanvas.relocate(canvas.getLayoutX(), canvas.getLayoutY());
+        meterCtx    = meterCanvas.getGraphicsContext2D();
+        getChildren().add(0, meterCanvas);
     }
 
 
@@ -338,6 +536,19 @@ public class TouchSlider extends Region {
     @Override protected double computeMaxWidth(final double HEIGHT) { return MAXIMUM_WIDTH; }
     @Override protected double computeMaxHeight(final double WIDTH) { return MAXIMUM_HEIGHT; }
 
+    @Override protected void layoutChildren() {
+        super.layoutChildren();
+        // Width and height changes of one layout pass result in one resize
+        final double newWidth  = getWidth() - getInsets().getLeft() - getInsets().getRight();
+        final double newHeight = getHeight() - getInsets().getTop() - getInsets().getBottom();
+        if (Double.compare(newWidth, width) != 0 || Double.compare(newHeight, height) != 0) {
+            resize();
+        } else if (styleDirty) {
+            // Resolve all style changes of one css pass with a single redraw
+            redraw();
+        }
+    }
+
     /**
      * Returns the orientation of the slider
      * @return the orientation of the slider
@@ -354,7 +565,7 @@ public class TouchSlider extends Region {
      * Returns the minimum value of the slider
      * @return the minimum value of the slider
      */
-    public double getMinValue() { return minValue.getValue().doubleValue(); }
+    public double getMinValue() { return minValue.get(); }
     /**
      * Defines the minimum value of the slider
      * @param minValue
@@ -366,7 +577,7 @@ public class TouchSlider extends Region {
      * Returns the range of the slider
      * @return the range of the slider
      */
-    public double getRange() { return range.getValue().doubleValue(); }
+    public double getRange() { return range.get(); }
     /**
      * Sets the range of the slider
      * @param range
@@ -382,11 +593,37 @@ public class TouchSlider extends Region {
      * Returns the current value of the slider
      * @return the current value of the slider
      */
-    public double getSliderValue() { return (getMinValue() + getRange() * getValue()); }
+    public double getSliderValue() { return toRealValue(getValue()); }
     public void setSliderValue(final double value) {
         double realValue = clamp(getMinValue(), getMinValue() + getRange(), value);
-        setValue((realValue - getMinValue()) / getRange());
+        setValue(toPosition(realValue));
     }
+    /**
+     * Sets the slider value and tags the resulting event with the given origin
+     * (e.g. Origin.ANIMATION for values that are driven by an automation)
+     * @param value
+     * @param origin
+     */
+    public void setSliderValue(final double value, final Origin origin) {
+        beginInput(origin, Phase.MOVE, System.nanoTime());
+        try {
+            setSliderValue(value);
+        } finally {
+            endInput();
+        }
+    }
+
+    /**
+     * Returns the taper that maps the position of the slider to its value
+     * @return the taper that maps the position of the slider to its value
+     */
+    public Taper getTaper() { return taper.get(); }
+    /**
+     * Defines the taper that maps the position of the slider to its value (e.g. Taper.decibel(-60, 10))
+     * @param taper
+     */
+    public void setTaper(final Taper taper) { this.taper.set(taper); }
+    public ObjectProperty<Taper> taperProperty() { return taper; }
 
     /**
      * Returns the background color of the slider
@@ -464,6 +701,19 @@ public class TouchSlider extends Region {
     public void setFormatString(final String formatString) { this.formatString.setValue(formatString); }
     public StyleableStringProperty formatStringProperty() { return formatString; }
 
+    /**
+     * Returns how the value and the name are rendered
+     * @return how the value and the name are rendered
+     */
+    public TextMode getTextMode() { return textMode.getValue(); }
+    /**
+     * Defines how the value and the name are rendered, TextMode.GLYPH_ATLAS draws pre-rendered
+     * characters instead of laying out the text on every redraw
+     * @param mode
+     */
+    public void setTextMode(final TextMode mode) { textMode.setValue(mode); }
+    public StyleableObjectProperty<TextMode> textModeProperty() { return textMode; }
+
     public boolean getFilledBarBackground() { return barBackbroundFilled.getValue(); }
     public void setBarBackbroundFilled(final boolean filled) { barBackbroundFilled.setValue(filled); }
     public StyleableBooleanProperty filledBarBackgroundProperty() { return barBackbroundFilled; }
@@ -480,6 +730,211 @@ public class TouchSlider extends Region {
     public void setSnapToZero(final boolean snap) { snapToZero.setValue(snap); }
     public StyleableBooleanProperty snapToZeroProperty() { return snapToZero; }
 
+    /**
+     * Returns the renderer that was set for this slider or null if the renderer is defined by css (or the default)
+     * @return the renderer that was set for this slider
+     */
+    public TouchSliderRenderer getRenderer() { return renderer.get(); }
+    /**
+     * Sets the renderer that draws this slider, overrides the renderer that is defined by the css property -renderer.
+     * Set it to null to use the css or default renderer.
+     * @param renderer
+     */
+    public void setRenderer(final TouchSliderRenderer renderer) { this.renderer.set(renderer); }
+    public ObjectProperty<TouchSliderRenderer> rendererProperty() { return renderer; }
+
+    /**
+     * Returns the class name of the renderer (css property -renderer, e.g. -renderer: "com.acme.FlatRenderer")
+     * @return the class name of the renderer
+     */
+    public String getRendererClassName() { return rendererClassName.get(); }
+    public void setRendererClassName(final String className) { rendererClassName.set(className); }
+    public StyleableStringProperty rendererClassNameProperty() { return rendererClassName; }
+
+    /**
+     * Returns true if the level meter is drawn alongside the bar
+     * @return true if the level meter is drawn alongside the bar
+     */
+    public boolean isMeterVisible() { return meterVisible.getValue(); }
+    public void setMeterVisible(final boolean visible) { meterVisible.setValue(visible); }
+    public StyleableBooleanProperty meterVisibleProperty() { return meterVisible; }
+
+    public Color getMeterColor() { return meterColor.getValue(); }
+    public void setMeterColor(final Color color) { meterColor.setValue(color); }
+    public StyleableObjectProperty<Color> meterColorProperty() { return meterColor; }
+
+    /**
+     * Adds a level to the meter, can be called from any thread at any rate.
+     * All levels between two pulses are reduced to their minimum, maximum and last value,
+     * the meter is repainted once per pulse. Meter levels never change the value of the
+     * slider and never fire a TouchSliderEvent.
+     * @param level the level in the range 0.0 - 1.0
+     */
+    public void updateMeter(final double level) { meterAccumulator.add(level); }
+
+    /**
+     * Returns the level that is currently shown by the meter (incl. decay)
+     * @return the level that is currently shown by the meter
+     */
+    public double getMeterLevel() { return meterLevel; }
+
+    /**
+     * Returns the held peak level of the meter
+     * @return the held peak level of the meter
+     */
+    public double getMeterPeak() { return meterPeak; }
+
+    /**
+     * Resets the level and the peak of the meter to 0
+     */
+    public void resetMeter() {
+        meterAccumulator.drain(meterWindow);
+        meterFloor = 0;
+        meterLevel = 0;
+        meterPeak  = 0;
+        meterDirty = true;
+    }
+
+    /**
+     * Returns the time in milliseconds the peak level is held before it decays
+     * @return the time in milliseconds the peak level is held before it decays
+     */
+    public double getMeterPeakHoldTime() { return meterPeakHoldTime; }
+    public void setMeterPeakHoldTime(final double millis) { meterPeakHoldTime = Math.max(0, millis); }
+
+    /**
+     * Returns the rate (full scale per second) the meter level and the peak decay with
+     * @return the rate (full scale per second) the meter level and the peak decay with
+     */
+    public double getMeterDecayRate() { return meterDecayRate; }
+    public void setMeterDecayRate(final double rate) { meterDecayRate = Math.max(0, rate); }
+
+    /**
+     * Returns the policy that defines when the slider may render at low fidelity
+     * @return the policy that defines when the slider may render at low fidelity
+     */
+    public QualityPolicy getQualityPolicy() { return qualityPolicy.get(); }
+    /**
+     * Defines when the slider may render at low fidelity (plain rects, no dashes),
+     * the default QualityPolicy.FULL never degrades
+     * @param policy
+     */
+    public void setQualityPolicy(final QualityPolicy policy) { qualityPolicy.set(policy); }
+    public ObjectProperty<QualityPolicy> qualityPolicyProperty() { return qualityPolicy; }
+
+    /**
+     * Returns the frame budget in milliseconds that is used by QualityPolicy.ADAPTIVE
+     * @return the frame budget in milliseconds
+     */
+    public double getFrameBudget() { return frameBudget.get(); }
+    /**
+     * Defines the frame budget in milliseconds, if a full quality redraw takes longer
+     * the slider degrades to low fidelity (only with QualityPolicy.ADAPTIVE)
+     * @param budget
+     */
+    public void setFrameBudget(final double budget) { frameBudget.set(budget); }
+    public DoubleProperty frameBudgetProperty() { return frameBudget; }
+
+    /**
+     * Returns true while a finger or the mouse is pressed on the slider
+     * @return true while a finger or the mouse is pressed on the slider
+     */
+    public boolean isGestureActive() { return gestureActive.get(); }
+    public ReadOnlyBooleanProperty gestureActiveProperty() { return gestureActive.getReadOnlyProperty(); }
+
+    /**
+     * Returns the smoothing that is applied to the values delivered to the observers
+     * @return the smoothing that is applied to the values delivered to the observers
+     */
+    public Smoothing getSmoothing() { return smoothing.get(); }
+    /**
+     * Defines the smoothing of the values that are delivered to the observers. With a smoothing
+     * other than NONE the smoothed values are computed at the control rate on the smoothing thread
+     * and delivered as MOVE events on the FX application thread, the END event of a gesture is
+     * fired after the last MOVE event once the smoothed value settled.
+     * @param smoothing
+     */
+    public void setSmoothing(final Smoothing smoothing) { this.smoothing.set(smoothing); }
+    public ObjectProperty<Smoothing> smoothingProperty() { return smoothing; }
+
+    /**
+     * Returns the smoothing time in milliseconds
+     * @return the smoothing time in milliseconds
+     */
+    public double getSmoothingTime() { return smoothingTime.get(); }
+    public void setSmoothingTime(final double millis) { smoothingTime.set(millis); }
+    public DoubleProperty smoothingTimeProperty() { return smoothingTime; }
+
+    /**
+     * Returns the rate in Hz at which the smoothing of all sliders is computed
+     * @return the rate in Hz at which the smoothing of all sliders is computed
+     */
+    public static double getSmoothingControlRate() { return SmoothingScheduler.getControlRate(); }
+    /**
+     * Defines the rate in Hz (1 - 10000, default 1000) at which the smoothing of all sliders is computed.
+     * The smoothed values are delivered on the FX application thread, intermediate values are dropped
+     * if the FX application thread can not keep up with the control rate.
+     * @param rate
+     */
+    public static void setSmoothingControlRate(final double rate) { SmoothingScheduler.setControlRate(rate); }
+
+    /**
+     * Returns the prediction horizon in milliseconds, 0 if the prediction is disabled
+     * @return the prediction horizon in milliseconds
+     */
+    public double getPredictionHorizon() { return predictionHorizon.get(); }
+    /**
+     * Defines how far (in milliseconds) the thumb is drawn ahead of the finger during a drag to hide
+     * the display latency. The value and the events always follow the real finger position. 0 disables the prediction.
+     * @param millis
+     */
+    public void setPredictionHorizon(final double millis) { predictionHorizon.set(millis); }
+    public DoubleProperty predictionHorizonProperty() { return predictionHorizon; }
+
+    /**
+     * Returns the filtering of the estimated drag velocity (0.0 - 0.95)
+     * @return the filtering of the estimated drag velocity
+     */
+    public double getPredictionSmoothing() { return predictionSmoothing.get(); }
+    /**
+     * Defines the filtering of the estimated drag velocity, 0.0 uses the raw estimate,
+     * higher values result in a steadier but slower reacting prediction
+     * @param smoothing
+     */
+    public void setPredictionSmoothing(final double smoothing) { predictionSmoothing.set(smoothing); }
+    public DoubleProperty predictionSmoothingProperty() { return predictionSmoothing; }
+
+    double toRealValue(final double position) { return getMinValue() + getRange() * taper.get().toValue(position); }
+
+    double toPosition(final double realValue) { return taper.get().toPosition((realValue - getMinValue()) / getRange()); }
+
+    // The group of a batched member follows once all batched members of the group are updated
+    void beginBatch() {
+        if (batchDepth++ > 0 || null == group) { return; }
+        batchGroup = group;
+        batchGroup.beginBatch();
+    }
+
+    void endBatch() {
+        if (--batchDepth > 0) { return; }
+        if (batchEventPending) {
+            batchEventPending = false;
+            deliver(getSliderValue());
+            if (null != batchGroup) { batchGroup.memberWritten(this, batchOldValue); }
+        }
+        if (null != batchGroup) {
+            final SliderGroup endedGroup = batchGroup;
+            batchGroup = null;
+            endedGroup.endBatch();
+        }
+    }
+
+    private void updateZero() {
+        isZeroInRange = getMinValue() < 0 && (getMinValue() + getRange()) > 0;
+        zeroPosition  = isZeroInRange ? toPosition(0) : 0;
+        geometryDirty = true;
+    }
+
     private double clamp(final double min, final double max, final double value) {
         if (value < min) { return min; }
         if (value > max) { return max; }
@@ -487,161 +942,380 @@ public class TouchSlider extends Region {
     }
 
 
-    // ******************** Event Handling ************************************
-    public void addTouchSliderObserver(final TouchSliderObserver observer) { if (!observers.contains(observer)) { observers.add(observer); }}
-    public void removeTouchSliderObserver(final TouchSliderObserver observer) { if (observers.contains(observer)) { observers.remove(observer); }}
-    public void fireTouchSliderEvent(final TouchSliderEvent evt) { observers.forEach(observer -> observer.onTouchSliderEvent(evt)); }
+    // ******************** Quality ******************************************
+    private void startGesture() {
+        gestureActive.set(true);
+        velocityEstimator.reset();
+        interact();
+    }
 
+    private void interact() {
+        interactive = true;
+        restartQualityIdleTimer();
+    }
 
-    // ******************** Drawing *******************************************
-    private void redraw() {
-        final double value = getValue();
-        ctx.clearRect(0, 0, width, height);
-        ctx.setTextBaseline(VPos.CENTER);
-        if (Orientation.HORIZONTAL.equals(getOrientation())) {
-            double barHeight   = height * 0.75;
-            double barY        = (height - barHeight) * 0.5;
-            double arcSize     = clamp( 3, 10, barHeight * 0.1);
-            double thumbHeight = barHeight * 1.2;
-
-            if (getFilledBarBackground()) {
-                ctx.setFill(getBarBackgroundColor());
-                ctx.fillRoundRect(0, barY, width, barHeight, arcSize, arcSize);
-            } else {
-                double lineWidth = clamp(1, 5, barHeight * 0.01333333);
-                ctx.setLineWidth(lineWidth);
-                ctx.setStroke(getBarBackgroundColor());
-                ctx.strokeRoundRect(lineWidth * 0.5, barY, width - lineWidth * 2 ,barHeight, arcSize, arcSize);
-                ctx.setStroke(Color.TRANSPARENT);
-            }
+    private void endGesture() {
+        gestureActive.set(false);
+        stopPrediction();
+        restoreFullQuality();
+    }
 
-            ctx.setFill(getBarColor());
-            if (getStartFromZero() && isZeroInRange) {
-                double realValue = getMinValue() + getRange() * value;
-                double zeroValue = (Math.abs(getMinValue()) / getRange());
-                double zeroX     = width * zeroValue;
-                double barWidth  = Math.abs(getValue() - zeroValue) * width;
-                if (realValue > 0) {
-                    ctx.fillRoundRect(zeroX, barY, barWidth, barHeight, arcSize, arcSize);
-                    ctx.setFill(getThumbColor());
-                    ctx.fillRoundRect(zeroX + barWidth - width * 0.015, (barY - barHeight * 0.1), width * 0.03, thumbHeight, arcSize, arcSize);
-                } else if (realValue < 0) {
-                    ctx.fillRoundRect(zeroX - barWidth, barY, barWidth, barHeight, arcSize, arcSize);
-                    ctx.setFill(getThumbColor());
-                    ctx.fillRoundRect(zeroX - barWidth - width * 0.015, (barY - barHeight * 0.1), width * 0.03, thumbHeight, arcSize, arcSize);
-                } else {
-                    ctx.setFill(getThumbColor());
-                    ctx.fillRoundRect(zeroX - width * 0.015, (barY - barHeight * 0.1), width * 0.03, thumbHeight, arcSize, arcSize);
-                }
-            } else {
-                ctx.fillRoundRect(0, barY, value * width, barHeight, arcSize, arcSize);
-                ctx.setFill(getThumbColor());
-                ctx.fillRoundRect(value * width - width * 0.015, (barY - barHeight * 0.1), width * 0.03, thumbHeight, arcSize, arcSize);
-            }
+    private void restartQualityIdleTimer() {
+        if (null == qualityIdleTimer) {
+            qualityIdleTimer = new PauseTransition(QUALITY_IDLE_TIMEOUT);
+            qualityIdleTimer.setOnFinished(e -> restoreFullQuality());
+        }
+        qualityIdleTimer.playFromStart();
+    }
 
-            if (isValueVisible()) {
-                double textGap = clamp(5, Double.MAX_VALUE, width * 0.95);
-                ctx.setFill(getValueTextColor());
-                ctx.setTextAlign(TextAlignment.RIGHT);
-                ctx.setFont(Font.font(barHeight * 0.4));
-                ctx.fillText(String.format(Locale.US, getFormatString(), (getMinValue() + getRange() * value)), textGap, barY + barHeight * 0.5, width * 0.5);
-            }
+    private void restoreFullQuality() {
+        if (null != qualityIdleTimer) { qualityIdleTimer.stop(); }
+        final boolean wasLowFidelity = isLowFidelity();
+        interactive = false;
+        degraded    = false;
+        if (wasLowFidelity) { redraw(); }
+    }
 
-            if (isNameVisible()) {
-                double textGap = clamp(5, Double.MAX_VALUE, width * 0.05);
-                ctx.setFill(getNameTextColor());
-                ctx.setTextAlign(TextAlignment.LEFT);
-                ctx.setFont(Font.font(barHeight * 0.4));
-                ctx.fillText(getName(), textGap, barY + barHeight * 0.5);
-            }
+    private boolean isLowFidelity() {
+        return switch (getQualityPolicy()) {
+            case FULL        -> false;
+            case INTERACTIVE -> interactive;
+            case ADAPTIVE    -> interactive || degraded;
+        };
+    }
 
-            if (isZeroInRange && getShowZero()) {
-                double zeroX = width * Math.abs(getMinValue() / getRange());
-                ctx.save();
-                ctx.setStroke(getZeroColor());
-                ctx.setLineDashes(2, 4);
-                ctx.strokeLine(zeroX, barY, zeroX, barY + barHeight);
-                ctx.restore();
+    private String getValueText(final double realValue, final String format) {
+        // Only format the value text if the value or the format changed
+        if (null == valueText || Double.compare(realValue, valueTextValue) != 0 || !format.equals(valueTextFormat)) {
+            valueText       = String.format(Locale.US, format, realValue);
+            valueTextValue  = realValue;
+            valueTextFormat = format;
+        }
+        return valueText;
+    }
+
+
+    // ******************** Prediction ****************************************
+    private void drag(final double position, final long timestamp) {
+        interact();
+        if (getPredictionHorizon() > 0) {
+            // The thumb is drawn at the position the finger will most likely have reached when the frame is shown,
+            // the value (and the events) always follow the real position
+            velocityEstimator.add(timestamp, position, getPredictionSmoothing());
+            // The thumb is never drawn further ahead than MAX_PREDICTION of the track
+            final double  distance  = clamp(-MAX_PREDICTION, MAX_PREDICTION, velocityEstimator.getVelocity() * getPredictionHorizon() / 1000.0);
+            final double  predicted = clamp(0.0, 1.0, position + distance);
+            final boolean changed   = !predicting || Double.compare(predicted, predictedPosition) != 0;
+            predicting        = true;
+            predictedPosition = predicted;
+            restartPredictionTimer();
+            if (Double.compare(position, getValue()) == 0) {
+                if (changed) { redraw(); }
+                return;
             }
+        }
+        setValue(position);
+    }
+
+    private void restartPredictionTimer() {
+        if (null == predictionTimer) {
+            // Without new samples the finger rests, so the thumb returns to the real position
+            predictionTimer = new PauseTransition(PREDICTION_TIMEOUT);
+            predictionTimer.setOnFinished(e -> stopPrediction());
+        }
+        predictionTimer.playFromStart();
+    }
+
+    private void stopPrediction() {
+        if (null != predictionTimer) { predictionTimer.stop(); }
+        if (!predicting) { return; }
+        predicting = false;
+        redraw();
+    }
+
+
+    // ******************** Meter *********************************************
+    private void updateMeterRegistration() {
+        // The scene listener is only added to sliders that use the meter
+        if (isMeterVisible() && !meterRegistered) {
+            meterRegistered = true;
+            sceneProperty().addListener(o -> updateMeterRegistration());
+        }
+        if (isMeterVisible() && null != getScene()) {
+            lastMeterPulse = 0;
+            meterDirty     = true;
+            MeterPulse.register(this);
         } else {
-            double barWidth   = width * 0.75;
-            double barHeight  = height * value;
-            double barX       = (width - barWidth) * 0.5;
-            double arcSize    = clamp( 3, 10, barWidth * 0.1);
-            double thumbWidth = barWidth * 1.2;
-
-            if (getFilledBarBackground()) {
-                ctx.setFill(getBarBackgroundColor());
-                ctx.fillRoundRect(barX, 0, barWidth, height, arcSize, arcSize);
-            } else {
-                double lineWidth = clamp(1, 5, barWidth * 0.01333333);
-                ctx.setLineWidth(lineWidth);
-                ctx.setStroke(getBarBackgroundColor());
-                ctx.strokeRoundRect(barX, lineWidth + 0.5, barWidth, height - lineWidth * 2, arcSize, arcSize);
-                ctx.setStroke(Color.TRANSPARENT);
+            MeterPulse.unregister(this);
+            if (null != meterCtx) { meterCtx.clearRect(0, 0, meterCanvas.getWidth(), meterCanvas.getHeight()); }
+        }
+    }
+
+    // Called by MeterPulse once per pulse
+    void pulseMeter(final long now) {
+        final double elapsed = 0 == lastMeterPulse ? 0 : (now - lastMeterPulse) / 1e9;
+        final double decay   = meterDecayRate * elapsed;
+        lastMeterPulse = now;
+
+        double level = Math.max(0, meterLevel - decay);
+        double floor = Math.min(meterFloor, level);
+        if (meterAccumulator.drain(meterWindow)) {
+            final double max = clamp(0, 1, meterWindow[1]);
+            level = Math.max(level, max);
+            floor = clamp(0, level, meterWindow[0]);
+            if (max >= meterPeak) {
+                meterPeak     = max;
+                meterPeakTime = now;
             }
+        }
+        double peak = meterPeak;
+        if ((now - meterPeakTime) / 1e6 > meterPeakHoldTime) { peak = Math.max(level, peak - decay); }
+        peak = Math.max(peak, level);
+
+        if (meterDirty || Double.compare(level, meterLevel) != 0 || Double.compare(floor, meterFloor) != 0 || Double.compare(peak, meterPeak) != 0) {
+            meterLevel = level;
+            meterFloor = floor;
+            meterPeak  = peak;
+            drawMeter();
+        }
+    }
+
+    private void drawMeter() {
+        meterDirty = false;
+        if (null == canvas || null == style) { return; }
+        if (null == meterCanvas) { createMeterCanvas(); }
+        if (geometryDirty) { layoutGeometry(); }
+        // Only the meter strip of the geometry is cleared and repainted
+        final TouchSliderGeometry g = geometry;
+        g.clearRect(meterCtx, 0, g.meterOffset, g.length, g.meterThickness);
+        meterCtx.setFill(style.getMeterColor());
+        g.fillRect(meterCtx, 0, g.meterOffset, g.length * meterFloor, g.meterThickness);
+        g.fillRect(meterCtx, g.length * meterPeak - 1, g.meterOffset, 2, g.meterThickness);
+        meterCtx.setFill(style.getMeterRangeColor());
+        g.fillRect(meterCtx, g.length * meterFloor, g.meterOffset, g.length * (meterLevel - meterFloor), g.meterThickness);
+    }
 
-            ctx.setFill(getBarColor());
-            if (getStartFromZero() && isZeroInRange) {
-                double realValue = getMinValue() + getRange() * value;
-                double zeroValue = (Math.abs(getMinValue()) / getRange());
-                double zeroY     = height - height * zeroValue;
-                barHeight        = Math.abs(getValue() - zeroValue) * height;
-                if (realValue > 0) {
-                    ctx.fillRoundRect(barX, zeroY - barHeight, barWidth, barHeight, arcSize, arcSize);
-                    ctx.setFill(getThumbColor());
-                    ctx.fillRoundRect((barX - barWidth * 0.1), zeroY - barHeight - height * 0.015, thumbWidth, height * 0.03, arcSize, arcSize);
-                } else if (realValue < 0) {
-                    ctx.fillRoundRect(barX, zeroY, barWidth, barHeight, arcSize, arcSize);
-                    ctx.setFill(getThumbColor());
-                    ctx.fillRoundRect((barX - barWidth * 0.1), zeroY + barHeight - height * 0.015, thumbWidth, height * 0.03, arcSize, arcSize);
-                } else {
-                    ctx.setFill(getThumbColor());
-                    ctx.fillRoundRect((barX - barWidth * 0.1), zeroY - height * 0.015, thumbWidth, height * 0.03, arcSize, arcSize);
+
+    // ******************** Event Handling ************************************
+    // Press, drag and release of mouse and touch, every input event results in at most one value update
+    private void pointer(final Origin origin, final int id, final Phase phase, final double x, final double y, final long timestamp) {
+        if (Phase.START == phase) {
+            // Only the pointer that started the gesture controls the slider until it is released
+            if (isGestureActive()) { return; }
+            pointerOrigin = origin;
+            pointerId     = id;
+        } else if (!isGestureActive() || origin != pointerOrigin || id != pointerId) {
+            return;
+        }
+        final double position = Orientation.HORIZONTAL.equals(getOrientation()) ? clamp(0.0, 1.0, x / width) : clamp(0.0, 1.0, 1.0 - y / height);
+        beginInput(origin, phase, timestamp);
+        try {
+            switch (phase) {
+                case START -> {
+                    firePendingEnd();
+                    startGesture();
+                    final long changes = valueChanges;
+                    drag(position, timestamp);
+                    // The start of a gesture is always reported, even if the press did not change the value
+                    if (changes == valueChanges || Smoothing.NONE != getSmoothing()) { fireTouchSliderEvent(createEvent(getSliderValue())); }
                 }
-            } else {
-                ctx.fillRoundRect(barX, height - barHeight, barWidth, barHeight, arcSize, arcSize);
-                ctx.setFill(getThumbColor());
-                ctx.fillRoundRect((barX - barWidth * 0.1), height - barHeight - height * 0.015, thumbWidth, height * 0.03, arcSize, arcSize);
+                case MOVE  -> drag(position, timestamp);
+                case END   -> release(position);
             }
+        } finally {
+            endInput();
+        }
+    }
 
-            if (isValueVisible()) {
-                double textGap = clamp(5, Double.MAX_VALUE, height * 0.05);
-                ctx.setFill(getValueTextColor());
-                ctx.setTextAlign(TextAlignment.RIGHT);
-                ctx.setFont(Font.font(barWidth * 0.4));
-                ctx.save();
-                ctx.translate((barX + barWidth * 0.5), textGap);
-                ctx.rotate(-90);
-                ctx.fillText(String.format(Locale.US, getFormatString(), (getMinValue() + getRange() * value)), 0, 0, height * 0.4);
-                ctx.translate(-(barX + barWidth * 0.5), textGap);
-                ctx.restore();
-            }
+    private void release(final double position) {
+        stopPrediction();
+        double target = position;
+        if (isZeroInRange && (getReturnToZero() || getSnapToZero())) {
+            final double value     = toRealValue(position);
+            final double snapRange = getReturnToZero() ? getRange() : getRange() * 0.015;
+            if (value > -snapRange && value < snapRange) { target = zeroPosition; }
+        }
+        final long changes = valueChanges;
+        // The release value is applied before the gesture ends, so it is part of the gesture (e.g. one undo step)
+        setValue(target);
+        endGesture();
+        if (Smoothing.NONE != getSmoothing() && null != smoother && !smoother.isIdle()) {
+            // The END event follows the last smoothed MOVE event
+            endPending          = true;
+            endPendingOrigin    = inputOrigin;
+            endPendingTimestamp = inputTimestamp;
+            return;
+        }
+        // The end of a gesture is always reported, even if the value did not change (with smoothing the END event is always fired)
+        if (changes == valueChanges || Smoothing.NONE != getSmoothing()) { fireTouchSliderEvent(createEvent(getSliderValue())); }
+    }
 
-            if (isNameVisible()) {
-                double textGap = clamp(5, Double.MAX_VALUE, height * 0.95);
-                ctx.setFill(getNameTextColor());
-                ctx.setTextAlign(TextAlignment.LEFT);
-                ctx.setFont(Font.font(barWidth * 0.4));
-                ctx.save();
-                ctx.translate((barX + barWidth * 0.5), textGap);
-                ctx.rotate(270);
-                ctx.fillText(getName(), 0, 0, height * 0.4);
-                ctx.translate(-(barX + barWidth * 0.5), textGap);
-                ctx.restore();
-            }
+    private void firePendingEnd() {
+        if (!endPending) { return; }
+        endPending = false;
+        fireTouchSliderEvent(new TouchSliderEvent(this, null == smoother ? getSliderValue() : smoother.getDelivered(), endPendingTimestamp, nextEventSequence(), endPendingOrigin, Phase.END));
+    }
 
-            if (isZeroInRange && getShowZero()) {
-                double zeroY = height - height * Math.abs(getMinValue() / getRange());
-                ctx.save();
-                ctx.setStroke(getZeroColor());
-                ctx.setLineDashes(2, 4);
-                ctx.strokeLine(barX, zeroY, barX + barWidth, zeroY);
-                ctx.restore();
-            }
+    private void beginInput(final Origin origin, final Phase phase, final long timestamp) {
+        inputOrigin    = origin;
+        inputPhase     = phase;
+        inputTimestamp = timestamp;
+    }
+
+    private void endInput() {
+        inputOrigin = Origin.PROGRAMMATIC;
+        inputPhase  = Phase.MOVE;
+    }
+
+    private TouchSliderEvent createEvent(final double value) {
+        final long timestamp = Origin.PROGRAMMATIC == inputOrigin ? System.nanoTime() : inputTimestamp;
+        return new TouchSliderEvent(this, value, timestamp, nextEventSequence(), inputOrigin, inputPhase);
+    }
+
+    private long nextEventSequence() { return (long) EVENT_SEQUENCE.getAndAdd(this, 1L) + 1; }
+
+    // Delivers a changed slider value to the observers, directly or through the smoothing stage
+    private void deliver(final double realValue) {
+        valueChanges++;
+        if (null == smoother || Smoothing.NONE == getSmoothing()) {
+            fireTouchSliderEvent(createEvent(realValue));
+        } else {
+            smoother.setTarget(realValue, inputOrigin);
         }
     }
 
+    // Called by the Smoother on the FX application thread
+    void fireSmoothedEvent(final double value, final Origin origin, final long timestamp) {
+        fireTouchSliderEvent(new TouchSliderEvent(this, value, timestamp, nextEventSequence(), origin, Phase.MOVE));
+    }
+
+    // Called by the Smoother on the FX application thread after the last smoothed value was delivered
+    void smoothingSettled() { firePendingEnd(); }
+
+    private void updateSmoother() {
+        if (Smoothing.NONE == getSmoothing()) {
+            if (null != smoother) { smoother.configure(Smoothing.NONE, 0, getRange()); }
+            firePendingEnd();
+            return;
+        }
+        if (null == smoother) { smoother = new Smoother(this, getSliderValue()); }
+        smoother.configure(getSmoothing(), getSmoothingTime(), getRange());
+    }
+
+    /**
+     * Returns the sequence number of the last event that was created by this slider
+     * @return the sequence number of the last event that was created by this slider
+     */
+    public long getEventSequence() { return eventSequence; }
+
+    public void addTouchSliderObserver(final TouchSliderObserver observer) { observers.addObserver(observer); }
+    public void removeTouchSliderObserver(final TouchSliderObserver observer) { observers.removeObserver(observer); }
+    public void fireTouchSliderEvent(final TouchSliderEvent evt) {
+        observers.dispatch(evt);
+    }
+
+    /**
+     * Subscribes the given observer and returns the handle to unsubscribe it, subscribing and
+     * unsubscribing are O(1). The same observer can be subscribed more than once.
+     * @param observer
+     * @return the handle of the subscription
+     */
+    public TouchSliderSubscription subscribe(final TouchSliderObserver observer) { return observers.subscribe(Objects.requireNonNull(observer)); }
+    /**
+     * Subscribes the given observer for as long as the scope is part of a scene, the subscription
+     * ends when the scope is removed from its scene (e.g. when a view is closed). If the scope is not
+     * part of a scene yet, the subscription ends when it is removed from the scene it will be added to,
+     * a scope that never enters a scene has to be unsubscribed explicitly.
+     * @param observer
+     * @param scope
+     * @return the handle of the subscription
+     */
+    public TouchSliderSubscription subscribe(final TouchSliderObserver observer, final Node scope) { return observers.subscribe(Objects.requireNonNull(observer), Objects.requireNonNull(scope)); }
+    /**
+     * Subscribes the given observer with a weak reference, the subscription ends when the observer
+     * was garbage collected. The caller has to keep a strong reference to the observer.
+     * @param observer
+     * @return the handle of the subscription
+     */
+    public TouchSliderSubscription subscribeWeak(final TouchSliderObserver observer) { return observers.subscribeWeak(Objects.requireNonNull(observer)); }
+
+    /**
+     * Returns the number of live subscriptions (incl. the observers that were added by addTouchSliderObserver()),
+     * meant for diagnostics of observer leaks
+     * @return the number of live subscriptions
+     */
+    public int getSubscriptionCount() { return observers.getCount(); }
+
+    /**
+     * Returns a publisher that emits the events of this slider to reactive subscribers on the given executor,
+     * events are conflated to the latest value if a subscriber has no outstanding demand
+     * @param executor
+     * @return a publisher that emits the events of this slider
+     */
+    public TouchSliderPublisher toPublisher(final Executor executor) { return new TouchSliderPublisher(executor, this); }
+
+
+    // ******************** Drawing *******************************************
+    private void invalidateStyle() {
+        styleDirty = true;
+        requestLayout();
+    }
+
+    private void redraw() {
+        // Nothing to draw before the first layout
+        if (null == canvas) { return; }
+        if (styleDirty) {
+            style         = TouchSliderStyle.of(this);
+            styleDirty    = false;
+            geometryDirty = true;
+        }
+        if (geometryDirty) { layoutGeometry(); }
+        final double  position    = predicting ? predictedPosition : getValue();
+        final boolean lowFidelity = isLowFidelity();
+        final long    start       = System.nanoTime();
+        effectiveRenderer.draw(ctx, geometry, style, position, style.isValueVisible() ? getValueText(toRealValue(getValue()), style.getFormatString()) : null, lowFidelity);
+        if (!lowFidelity && QualityPolicy.ADAPTIVE == getQualityPolicy() && (System.nanoTime() - start) > getFrameBudget() * 1_000_000) {
+            degraded = true;
+            restartQualityIdleTimer();
+        }
+    }
+
+    private void layoutGeometry() {
+        geometry.set(Orientation.HORIZONTAL.equals(style.getOrientation()), width, height, isZeroInRange, zeroPosition, getName());
+        effectiveRenderer.layout(geometry, style);
+        geometryDirty = false;
+        // The meter strip is part of the geometry
+        if (null != meterCanvas) { meterCtx.clearRect(0, 0, meterCanvas.getWidth(), meterCanvas.getHeight()); }
+        meterDirty = true;
+    }
+
+    private void updateRenderer() {
+        TouchSliderRenderer newRenderer = renderer.get();
+        if (null == newRenderer) { newRenderer = getCssRenderer(rendererClassName.get()); }
+        if (newRenderer == effectiveRenderer) { return; }
+        effectiveRenderer = newRenderer;
+        geometryDirty     = true;
+        redraw();
+    }
+
+    // Renderers that are defined in css are instantiated once per class name and shared,
+    // class names that can not be instantiated are reported once like other invalid css values
+    private static TouchSliderRenderer getCssRenderer(final String className) {
+        if (null == className || className.isBlank()) { return TouchSliderRenderer.DEFAULT; }
+        return CSS_RENDERERS.computeIfAbsent(className.trim(), name -> {
+            try {
+                return (TouchSliderRenderer) Class.forName(name, true, TouchSlider.class.getClassLoader()).getConstructor().newInstance();
+            } catch (ReflectiveOperationException | ClassCastException e) {
+                try {
+                    return (TouchSliderRenderer) Class.forName(name, true, Thread.currentThread().getContextClassLoader()).getConstructor().newInstance();
+                } catch (ReflectiveOperationException | ClassCastException ex) {
+                    CSS_LOGGER.log(Level.WARNING, "Could not use " + name + " as -renderer of TouchSlider, the default renderer is used instead", ex);
+                    return TouchSliderRenderer.DEFAULT;
+                }
+            }
+        });
+    }
+
 
     // ******************** Resizing ******************************************
     private void resize() {
@@ -649,16 +1323,48 @@ public class TouchSlider extends Region {
         height = getHeight() - getInsets().getTop() - getInsets().getBottom();
 
         if (width > 0 && height > 0) {
-            canvas.setWidth(width);
-            canvas.setHeight(height);
+            if (null == canvas) {
+                createCanvas();
+            } else {
+                // Continuous resizing: only grow the canvas in buckets and clip it to the visible area
+                if (width > canvas.getWidth())   { canvas.setWidth(Math.ceil(width / CANVAS_BUCKET_SIZE) * CANVAS_BUCKET_SIZE); }
+                if (height > canvas.getHeight()) { canvas.setHeight(Math.ceil(height / CANVAS_BUCKET_SIZE) * CANVAS_BUCKET_SIZE); }
+                if (null == resizeSettleTimer) {
+                    resizeSettleTimer = new PauseTransition(RESIZE_SETTLE_DELAY);
+                    resizeSettleTimer.setOnFinished(e -> settleCanvas());
+                }
+                resizeSettleTimer.playFromStart();
+            }
+            canvasClip.setWidth(width);
+            canvasClip.setHeight(height);
             canvas.relocate((getWidth() - width) * 0.5, (getHeight() - height) * 0.5);
+            if (null != meterCanvas) {
+                meterCanvas.setWidth(canvas.getWidth());
+                meterCanvas.setHeight(canvas.getHeight());
+                meterCanvas.relocate(canvas.getLayoutX(), canvas.getLayoutY());
+            }
+            geometryDirty = true;
             redraw();
         }
     }
 
+    private void settleCanvas() {
+        if (null == canvas || width <= 0 || height <= 0) { return; }
+        if (Double.compare(canvas.getWidth(), width) == 0 && Double.compare(canvas.getHeight(), height) == 0) { return; }
+        canvas.setWidth(width);
+        canvas.setHeight(height);
+        if (null != meterCanvas) {
+            meterCanvas.setWidth(width);
+            meterCanvas.setHeight(height);
+            meterDirty = true;
+        }
+        redraw();
+    }
+
 
     // ******************** Style related *************************************
     @Override public String getUserAgentStylesheet() {
+        // Resolved once and shared by all instances
         if (null == userAgentStyleSheet) { userAgentStyleSheet = TouchSlider.class.getResource(CSS_FILE).toExternalForm(); }
         return userAgentStyleSheet;
     }
@@ -0,0 +1,274 @@
+/*
+ * Copyright (c) 2022 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.fx.touchslider;
+
+import javafx.application.Platform;
+import javafx.beans.InvalidationListener;
+
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+
+/**
+ * A fixed set of sliders that can be read and written as a whole.
+ * The slider values are published to a snapshot on every change, so reading
+ * all values into a double[] is allocation free and safe from any thread.
+ * Writing a double[] applies all values as one batched update on the FX thread.
+ * Change listeners are called once per change or batch, so consumers on other threads
+ * (e.g. the journal) can sleep until the bank changed instead of polling it.
+ * close() detaches the bank from its sliders.
+ */
+public class TouchSliderBank implements AutoCloseable {
+    private final    List<TouchSlider>      sliders;
+    private final    InvalidationListener[] listeners;
+    private final    double[]               snapshot;
+    private volatile long                   sequence;
+    private final    double[]               pendingValues;
+    private final    boolean[]              pendingMask;
+    private final    double[]               applyValues;
+    private final    boolean[]              applyMask;
+    private          boolean                applyScheduled;
+    private          int                    batchDepth;
+    private          boolean                batchChanged;
+    private final    Runnable               applyPending;
+    private final    List<Runnable>         changeListeners;
+
+
+    // ******************** Constructors **************************************
+    public TouchSliderBank(final TouchSlider... sliders) {
+        this(List.of(sliders));
+    }
+    public TouchSliderBank(final List<TouchSlider> sliders) {
+        this.sliders         = List.copyOf(sliders);
+        this.snapshot        = new double[this.sliders.size()];
+        this.pendingValues   = new double[this.sliders.size()];
+        this.pendingMask     = new boolean[this.sliders.size()];
+        this.applyValues     = new double[this.sliders.size()];
+        this.applyMask       = new boolean[this.sliders.size()];
+        this.applyPending    = this::applyPending;
+        this.changeListeners = new CopyOnWriteArrayList<>();
+        this.listeners       = new InvalidationListener[this.sliders.size()];
+        for (int i = 0 ; i < snapshot.length ; i++) {
+            final int                  index    = i;
+            final TouchSlider          slider   = this.sliders.get(i);
+            final InvalidationListener listener = o -> publish(index);
+            snapshot[i]  = slider.getSliderValue();
+            listeners[i] = listener;
+            slider.valueProperty().addListener(listener);
+            slider.minValueProperty().addListener(listener);
+            slider.rangeProperty().addListener(listener);
+            slider.taperProperty().addListener(listener);
+        }
+    }
+
+
+    // ******************** Methods *******************************************
+    public int size() { return snapshot.length; }
+
+    public TouchSlider getSlider(final int index) { return sliders.get(index); }
+
+    public int indexOf(final TouchSlider slider) { return sliders.indexOf(slider); }
+
+    public List<TouchSlider> getSliders() { return sliders; }
+
+    /**
+     * Detaches the bank from its sliders, the snapshot keeps the last published values.
+     * Has to be called on the FX application thread.
+     */
+    @Override public void close() {
+        for (int i = 0 ; i < listeners.length ; i++) {
+            final TouchSlider slider = sliders.get(i);
+            slider.valueProperty().removeListener(listeners[i]);
+            slider.minValueProperty().removeListener(listeners[i]);
+            slider.rangeProperty().removeListener(listeners[i]);
+            slider.taperProperty().removeListener(listeners[i]);
+        }
+    }
+
+    /**
+     * Adds a listener that is called on the FX application thread after values of the bank changed,
+     * once per change or once per batched update. Listeners should only signal other threads.
+     * @param listener
+     */
+    public void addChangeListener(final Runnable listener) { changeListeners.add(listener); }
+    public void removeChangeListener(final Runnable listener) { changeListeners.remove(listener); }
+
+    /**
+     * Returns a counter that changes whenever a value of the bank changed
+     * @return a counter that changes whenever a value of the bank changed
+     */
+    public long getSequence() { return sequence; }
+
+    /**
+     * Returns the last published slider value of the slider at the given index,
+     * can be called from any thread
+     * @param index
+     * @return the last published slider value of the slider at the given index
+     */
+    public double getValue(final int index) {
+        while (true) {
+            final long seq = sequence;
+            if ((seq & 1) == 0) {
+                final double value = snapshot[index];
+                VarHandle.loadLoadFence();
+                if (seq == sequence) { return value; }
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Copies the last published slider values of all sliders into the given array.
+     * Can be called from any thread and does not allocate.
+     * @param values array with at least size() elements
+     * @return the sequence of the snapshot that was read
+     */
+    public long read(final double[] values) {
+        while (true) {
+            final long seq = sequence;
+            if ((seq & 1) == 0) {
+                System.arraycopy(snapshot, 0, values, 0, snapshot.length);
+                VarHandle.loadLoadFence();
+                if (seq == sequence) { return seq; }
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Sets the slider values of all sliders as one batched update. Every slider is redrawn once
+     * and the TouchSliderEvents are fired after all values have been applied.
+     * If called from another thread than the FX application thread the values are applied
+     * on the next run of the FX application thread (only the latest values will be applied).
+     * @param values array with at least size() elements
+     */
+    public void write(final double[] values) {
+        if (Platform.isFxApplicationThread()) {
+            beginBatch();
+            for (TouchSlider slider : sliders) { slider.beginBatch(); }
+            try {
+                for (int i = 0 ; i < snapshot.length ; i++) { sliders.get(i).setSliderValue(values[i]); }
+            } finally {
+                endBatch();
+                for (TouchSlider slider : sliders) { slider.endBatch(); }
+            }
+        } else {
+            synchronized (pendingValues) {
+                System.arraycopy(values, 0, pendingValues, 0, snapshot.length);
+                for (int i = 0 ; i < snapshot.length ; i++) { pendingMask[i] = true; }
+                schedulePending();
+            }
+        }
+    }
+    /**
+     * Sets the slider values of the sliders at the given indices as one batched update,
+     * only the sliders at the given indices take part in the batch.
+     * @param indices the indices of the sliders to change
+     * @param values the new slider values, values[i] will be applied to the slider at indices[i]
+     * @param count the number of entries to apply
+     */
+    public void write(final int[] indices, final double[] values, final int count) {
+        if (Platform.isFxApplicationThread()) {
+            beginBatch();
+            for (int i = 0 ; i < count ; i++) { sliders.get(indices[i]).beginBatch(); }
+            try {
+                for (int i = 0 ; i < count ; i++) { sliders.get(indices[i]).setSliderValue(values[i]); }
+            } finally {
+                endBatch();
+                for (int i = 0 ; i < count ; i++) { sliders.get(indices[i]).endBatch(); }
+            }
+        } else {
+            synchronized (pendingValues) {
+                for (int i = 0 ; i < count ; i++) {
+                    pendingValues[indices[i]] = values[i];
+                    pendingMask[indices[i]]   = true;
+                }
+                schedulePending();
+            }
+        }
+    }
+
+    private void schedulePending() {
+        if (applyScheduled) { return; }
+        applyScheduled = true;
+        Platform.runLater(applyPending);
+    }
+
+    private void applyPending() {
+        synchronized (pendingValues) {
+            applyScheduled = false;
+            System.arraycopy(pendingValues, 0, applyValues, 0, snapshot.length);
+            System.arraycopy(pendingMask, 0, applyMask, 0, snapshot.length);
+            Arrays.fill(pendingMask, false);
+        }
+        beginBatch();
+        for (int i = 0 ; i < snapshot.length ; i++) {
+            if (applyMask[i]) { sliders.get(i).beginBatch(); }
+        }
+        try {
+            for (int i = 0 ; i < snapshot.length ; i++) {
+                if (applyMask[i]) { sliders.get(i).setSliderValue(applyValues[i]); }
+            }
+        } finally {
+            endBatch();
+            for (int i = 0 ; i < snapshot.length ; i++) {
+                if (applyMask[i]) { sliders.get(i).endBatch(); }
+            }
+        }
+    }
+
+    // The sliders of a batch fire their events after the whole batch is published
+    private void beginBatch() {
+        if (batchDepth++ == 0) {
+            // Open the snapshot for writing, readers will wait until the whole batch is published
+            sequence++;
+            VarHandle.storeStoreFence();
+        }
+    }
+
+    private void endBatch() {
+        if (--batchDepth > 0) { return; }
+        sequence++;
+        if (batchChanged) {
+            batchChanged = false;
+            fireChanged();
+        }
+    }
+
+    // Only called on the FX application thread
+    private void publish(final int index) {
+        final double value = sliders.get(index).getSliderValue();
+        if (Double.compare(value, snapshot[index]) == 0) { return; }
+        final boolean inBatch = (sequence & 1) == 1;
+        if (inBatch) {
+            snapshot[index] = value;
+            batchChanged    = true;
+        } else {
+            sequence++;
+            VarHandle.storeStoreFence();
+            snapshot[index] = value;
+            sequence++;
+            fireChanged();
+        }
+    }
+
+    private void fireChanged() {
+        for (Runnable listener : changeListeners) { listener.run(); }
+    }
+}
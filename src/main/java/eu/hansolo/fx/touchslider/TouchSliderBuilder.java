@@ -16,15 +16,6 @@
 
 package eu.hansolo.fx.touchslider;
 
-import javafx.beans.property.BooleanProperty;
-import javafx.beans.property.DoubleProperty;
-import javafx.beans.property.ObjectProperty;
-import javafx.beans.property.Property;
-import javafx.beans.property.SimpleBooleanProperty;
-import javafx.beans.property.SimpleDoubleProperty;
-import javafx.beans.property.SimpleObjectProperty;
-import javafx.beans.property.SimpleStringProperty;
-import javafx.beans.property.StringProperty;
 import javafx.geometry.Dimension2D;
 import javafx.geometry.Insets;
 import javafx.geometry.Orientation;
@@ -34,7 +25,7 @@ import java.util.HashMap;
 
 
 public class TouchSliderBuilder<B extends TouchSliderBuilder<B>> {
-    private HashMap<String, Property> properties = new HashMap<>();
+    private HashMap<String, Object> properties = new HashMap<>();
 
 
     // ******************** Constructors **************************************
@@ -47,179 +38,234 @@ public class TouchSliderBuilder<B extends TouchSliderBuilder<B>> {
     }
 
     public final B name(final String name) {
-        properties.put("name", new SimpleStringProperty(name));
+        properties.put("name", name);
         return (B)this;
     }
 
     public final B orientation(final Orientation orientation) {
-        properties.put("orientation", new SimpleObjectProperty<>(orientation));
+        properties.put("orientation", orientation);
         return (B)this;
     }
 
     public final B minValue(final double minValue) {
-        properties.put("minValue", new SimpleDoubleProperty(minValue));
+        properties.put("minValue", minValue);
         return (B)this;
     }
 
     public final B range(final double range) {
-        properties.put("range", new SimpleDoubleProperty(range));
+        properties.put("range", range);
+        return (B)this;
+    }
+
+    public final B taper(final Taper taper) {
+        properties.put("taper", taper);
         return (B)this;
     }
 
     public final B sliderValue(final double value) {
-        properties.put("sliderValue", new SimpleDoubleProperty(value));
+        properties.put("sliderValue", value);
         return (B)this;
     }
 
     public final B barBackgroundColor(final Color color) {
-        properties.put("barBackgroundColor", new SimpleObjectProperty<>(color));
+        properties.put("barBackgroundColor", color);
         return (B)this;
     }
 
     public final B barColor(final Color color) {
-        properties.put("barColor", new SimpleObjectProperty<>(color));
+        properties.put("barColor", color);
         return (B)this;
     }
 
     public final B thumbColor(final Color color) {
-        properties.put("thumbColor", new SimpleObjectProperty<>(color));
+        properties.put("thumbColor", color);
         return (B)this;
     }
 
     public final B valueTextColor(final Color color) {
-        properties.put("valueTextColor", new SimpleObjectProperty<>(color));
+        properties.put("valueTextColor", color);
         return (B)this;
     }
 
     public final B nameTextColor(final Color color) {
-        properties.put("nameTextColor", new SimpleObjectProperty<>(color));
+        properties.put("nameTextColor", color);
         return (B)this;
     }
 
     public final B zeroColor(final Color color) {
-        properties.put("zeroColor", new SimpleObjectProperty<>(color));
+        properties.put("zeroColor", color);
         return (B)this;
     }
 
     public final B formatString(final String formatString) {
-        properties.put("formatString", new SimpleStringProperty(formatString));
+        properties.put("formatString", formatString);
+        return (B)this;
+    }
+
+    public final B textMode(final TextMode mode) {
+        properties.put("textMode", mode);
         return (B)this;
     }
 
     public final B valueVisible(final boolean visible) {
-        properties.put("valueVisible", new SimpleBooleanProperty(visible));
+        properties.put("valueVisible", visible);
         return (B)this;
     }
 
     public final B nameVisible(final boolean visible) {
-        properties.put("nameVisible", new SimpleBooleanProperty(visible));
+        properties.put("nameVisible", visible);
         return (B)this;
     }
 
     public final B barBackroundFilled(final boolean filled) {
-        properties.put("barBackgroundFilled", new SimpleBooleanProperty(filled));
+        properties.put("barBackgroundFilled", filled);
         return (B)this;
     }
 
     public final B showZero(final boolean show) {
-        properties.put("showZero", new SimpleBooleanProperty(show));
+        properties.put("showZero", show);
         return (B)this;
     }
 
     public final B startFromZero(final boolean start) {
-        properties.put("startFromZero", new SimpleBooleanProperty(start));
+        properties.put("startFromZero", start);
         return (B)this;
     }
 
     public final B snapToZero(final boolean snap) {
-        properties.put("snapToZero", new SimpleBooleanProperty(snap));
+        properties.put("snapToZero", snap);
         return (B)this;
     }
 
     public final B returnToZero(final boolean returnToZero) {
-        properties.put("returnToZero", new SimpleBooleanProperty(returnToZero));
+        properties.put("returnToZero", returnToZero);
+        return (B)this;
+    }
+
+    public final B qualityPolicy(final QualityPolicy policy) {
+        properties.put("qualityPolicy", policy);
+        return (B)this;
+    }
+
+    public final B frameBudget(final double budget) {
+        properties.put("frameBudget", budget);
+        return (B)this;
+    }
+
+    public final B smoothing(final Smoothing smoothing) {
+        properties.put("smoothing", smoothing);
+        return (B)this;
+    }
+
+    public final B smoothingTime(final double millis) {
+        properties.put("smoothingTime", millis);
+        return (B)this;
+    }
+
+    public final B predictionHorizon(final double millis) {
+        properties.put("predictionHorizon", millis);
+        return (B)this;
+    }
+
+    public final B predictionSmoothing(final double smoothing) {
+        properties.put("predictionSmoothing", smoothing);
+        return (B)this;
+    }
+
+    public final B renderer(final TouchSliderRenderer renderer) {
+        properties.put("renderer", renderer);
+        return (B)this;
+    }
+
+    public final B meterVisible(final boolean visible) {
+        properties.put("meterVisible", visible);
+        return (B)this;
+    }
+
+    public final B meterColor(final Color color) {
+        properties.put("meterColor", color);
         return (B)this;
     }
 
     public final B onTouchSliderEvent(final TouchSliderObserver observer) {
-        properties.put("observer", new SimpleObjectProperty<>(observer));
+        properties.put("observer", observer);
         return (B)this;
     }
 
     public final B styleClass(final String styleClass) {
-        properties.put("styleClass", new SimpleStringProperty(styleClass));
+        properties.put("styleClass", styleClass);
         return (B)this;
     }
 
     public final B prefSize(final double width, final double height) {
-        properties.put("prefSize", new SimpleObjectProperty<>(new Dimension2D(width, height)));
+        properties.put("prefSize", new Dimension2D(width, height));
         return (B)this;
     }
     public final B minSize(final double width, final double height) {
-        properties.put("minSize", new SimpleObjectProperty<>(new Dimension2D(width, height)));
+        properties.put("minSize", new Dimension2D(width, height));
         return (B)this;
     }
     public final B maxSize(final double width, final double height) {
-        properties.put("maxSize", new SimpleObjectProperty<>(new Dimension2D(width, height)));
+        properties.put("maxSize", new Dimension2D(width, height));
         return (B)this;
     }
 
     public final B prefWidth(final double prefWidth) {
-        properties.put("prefWidth", new SimpleDoubleProperty(prefWidth));
+        properties.put("prefWidth", prefWidth);
         return (B)this;
     }
     public final B prefHeight(final double prefHeight) {
-        properties.put("prefHeight", new SimpleDoubleProperty(prefHeight));
+        properties.put("prefHeight", prefHeight);
         return (B)this;
     }
 
     public final B minWidth(final double minWidth) {
-        properties.put("minWidth", new SimpleDoubleProperty(minWidth));
+        properties.put("minWidth", minWidth);
         return (B)this;
     }
     public final B minHeight(final double minHeight) {
-        properties.put("minHeight", new SimpleDoubleProperty(minHeight));
+        properties.put("minHeight", minHeight);
         return (B)this;
     }
 
     public final B maxWidth(final double maxWidth) {
-        properties.put("maxWidth", new SimpleDoubleProperty(maxWidth));
+        properties.put("maxWidth", maxWidth);
         return (B)this;
     }
     public final B maxHeight(final double maxHeight) {
-        properties.put("maxHeight", new SimpleDoubleProperty(maxHeight));
+        properties.put("maxHeight", maxHeight);
         return (B)this;
     }
 
     public final B scaleX(final double scaleX) {
-        properties.put("scaleX", new SimpleDoubleProperty(scaleX));
+        properties.put("scaleX", scaleX);
         return (B)this;
     }
     public final B scaleY(final double scaleY) {
-        properties.put("scaleY", new SimpleDoubleProperty(scaleY));
+        properties.put("scaleY", scaleY);
         return (B)this;
     }
 
     public final B layoutX(final double layoutX) {
-        properties.put("layoutX", new SimpleDoubleProperty(layoutX));
+        properties.put("layoutX", layoutX);
         return (B)this;
     }
     public final B layoutY(final double layoutY) {
-        properties.put("layoutY", new SimpleDoubleProperty(layoutY));
+        properties.put("layoutY", layoutY);
         return (B)this;
     }
 
     public final B translateX(final double translateX) {
-        properties.put("translateX", new SimpleDoubleProperty(translateX));
+        properties.put("translateX", translateX);
         return (B)this;
     }
     public final B translateY(final double translateY) {
-        properties.put("translateY", new SimpleDoubleProperty(translateY));
+        properties.put("translateY", translateY);
         return (B)this;
     }
 
     public final B padding(final Insets insets) {
-        properties.put("padding", new SimpleObjectProperty<>(insets));
+        properties.put("padding", insets);
         return (B)this;
     }
     
@@ -228,56 +274,67 @@ public class TouchSliderBuilder<B extends TouchSliderBuilder<B>> {
         for (String key : properties.keySet()) {
             switch (key) {
                 case "prefSize"            -> {
-                    Dimension2D dim = ((ObjectProperty<Dimension2D>) properties.get(key)).get();
+                    Dimension2D dim = (Dimension2D) properties.get(key);
                     touchSlider.setPrefSize(dim.getWidth(), dim.getHeight());
                 }
                 case "minSize"             -> {
-                    Dimension2D dim = ((ObjectProperty<Dimension2D>) properties.get(key)).get();
+                    Dimension2D dim = (Dimension2D) properties.get(key);
                     touchSlider.setMinSize(dim.getWidth(), dim.getHeight());
                 }
                 case "maxSize"             -> {
-                    Dimension2D dim = ((ObjectProperty<Dimension2D>) properties.get(key)).get();
+                    Dimension2D dim = (Dimension2D) properties.get(key);
                     touchSlider.setMaxSize(dim.getWidth(), dim.getHeight());
                 }
-                case "prefWidth"           -> touchSlider.setPrefWidth(((DoubleProperty) properties.get(key)).get());
-                case "prefHeight"          -> touchSlider.setPrefHeight(((DoubleProperty) properties.get(key)).get());
-                case "minWidth"            -> touchSlider.setMinWidth(((DoubleProperty) properties.get(key)).get());
-                case "minHeight"           -> touchSlider.setMinHeight(((DoubleProperty) properties.get(key)).get());
-                case "maxWidth"            -> touchSlider.setMaxWidth(((DoubleProperty) properties.get(key)).get());
-                case "maxHeight"           -> touchSlider.setMaxHeight(((DoubleProperty) properties.get(key)).get());
-                case "scaleX"              -> touchSlider.setScaleX(((DoubleProperty) properties.get(key)).get());
-                case "scaleY"              -> touchSlider.setScaleY(((DoubleProperty) properties.get(key)).get());
-                case "layoutX"             -> touchSlider.setLayoutX(((DoubleProperty) properties.get(key)).get());
-                case "layoutY"             -> touchSlider.setLayoutY(((DoubleProperty) properties.get(key)).get());
-                case "translateX"          -> touchSlider.setTranslateX(((DoubleProperty) properties.get(key)).get());
-                case "translateY"          -> touchSlider.setTranslateY(((DoubleProperty) properties.get(key)).get());
-                case "padding"             -> touchSlider.setPadding(((ObjectProperty<Insets>) properties.get(key)).get());
-                case "name"                -> touchSlider.setName(((StringProperty) properties.get(key)).get());
-                case "orientation"         -> touchSlider.setOrientation(((ObjectProperty<Orientation>) properties.get(key)).get());
-                case "minValue"            -> touchSlider.setMinValue(((DoubleProperty) properties.get(key)).get());
-                case "range"               -> touchSlider.setRange(((DoubleProperty) properties.get(key)).get());
-                case "barBackgroundColor"  -> touchSlider.setBarBackgroundColor(((ObjectProperty<Color>) properties.get(key)).get());
-                case "barColor"            -> touchSlider.setBarColor(((ObjectProperty<Color>) properties.get(key)).get());
-                case "thumbColor"          -> touchSlider.setThumbColor(((ObjectProperty<Color>) properties.get(key)).get());
-                case "valueTextColor"      -> touchSlider.setValueTextColor(((ObjectProperty<Color>) properties.get(key)).get());
-                case "nameTextColor"       -> touchSlider.setNameTextColor(((ObjectProperty<Color>) properties.get(key)).get());
-                case "zeroColor"           -> touchSlider.setZeroColor(((ObjectProperty<Color>) properties.get(key)).get());
-                case "formatString"        -> touchSlider.setFormatString(((StringProperty) properties.get(key)).get());
-                case "valueVisible"        -> touchSlider.setValueVisible(((BooleanProperty) properties.get(key)).get());
-                case "nameVisible"         -> touchSlider.setNameVisible(((BooleanProperty) properties.get(key)).get());
-                case "barBackgroundFilled" -> touchSlider.setBarBackbroundFilled(((BooleanProperty) properties.get(key)).get());
-                case "showZero"            -> touchSlider.setShowZero(((BooleanProperty) properties.get(key)).get());
-                case "startFromZero"       -> touchSlider.setStartFromZero(((BooleanProperty) properties.get(key)).get());
-                case "snapToZero"          -> touchSlider.setSnapToZero(((BooleanProperty) properties.get(key)).get());
-                case "returnToZero"        -> touchSlider.setReturnToZero(((BooleanProperty) properties.get(key)).get());
-                case "observer"            -> touchSlider.addTouchSliderObserver(((ObjectProperty<TouchSliderObserver>) properties.get(key)).get());
+                case "prefWidth"           -> touchSlider.setPrefWidth((double) properties.get(key));
+                case "prefHeight"          -> touchSlider.setPrefHeight((double) properties.get(key));
+                case "minWidth"            -> touchSlider.setMinWidth((double) properties.get(key));
+                case "minHeight"           -> touchSlider.setMinHeight((double) properties.get(key));
+                case "maxWidth"            -> touchSlider.setMaxWidth((double) properties.get(key));
+                case "maxHeight"           -> touchSlider.setMaxHeight((double) properties.get(key));
+                case "scaleX"              -> touchSlider.setScaleX((double) properties.get(key));
+                case "scaleY"              -> touchSlider.setScaleY((double) properties.get(key));
+                case "layoutX"             -> touchSlider.setLayoutX((double) properties.get(key));
+                case "layoutY"             -> touchSlider.setLayoutY((double) properties.get(key));
+                case "translateX"          -> touchSlider.setTranslateX((double) properties.get(key));
+                case "translateY"          -> touchSlider.setTranslateY((double) properties.get(key));
+                case "padding"             -> touchSlider.setPadding((Insets) properties.get(key));
+                case "name"                -> touchSlider.setName((String) properties.get(key));
+                case "orientation"         -> touchSlider.setOrientation((Orientation) properties.get(key));
+                case "minValue"            -> touchSlider.setMinValue((double) properties.get(key));
+                case "range"               -> touchSlider.setRange((double) properties.get(key));
+                case "taper"               -> touchSlider.setTaper((Taper) properties.get(key));
+                case "barBackgroundColor"  -> touchSlider.setBarBackgroundColor((Color) properties.get(key));
+                case "barColor"            -> touchSlider.setBarColor((Color) properties.get(key));
+                case "thumbColor"          -> touchSlider.setThumbColor((Color) properties.get(key));
+                case "valueTextColor"      -> touchSlider.setValueTextColor((Color) properties.get(key));
+                case "nameTextColor"       -> touchSlider.setNameTextColor((Color) properties.get(key));
+                case "zeroColor"           -> touchSlider.setZeroColor((Color) properties.get(key));
+                case "formatString"        -> touchSlider.setFormatString((String) properties.get(key));
+                case "textMode"            -> touchSlider.setTextMode((TextMode) properties.get(key));
+                case "valueVisible"        -> touchSlider.setValueVisible((boolean) properties.get(key));
+                case "nameVisible"         -> touchSlider.setNameVisible((boolean) properties.get(key));
+                case "barBackgroundFilled" -> touchSlider.setBarBackbroundFilled((boolean) properties.get(key));
+                case "showZero"            -> touchSlider.setShowZero((boolean) properties.get(key));
+                case "startFromZero"       -> touchSlider.setStartFromZero((boolean) properties.get(key));
+                case "snapToZero"          -> touchSlider.setSnapToZero((boolean) properties.get(key));
+                case "returnToZero"        -> touchSlider.setReturnToZero((boolean) properties.get(key));
+                case "qualityPolicy"       -> touchSlider.setQualityPolicy((QualityPolicy) properties.get(key));
+                case "frameBudget"         -> touchSlider.setFrameBudget((double) properties.get(key));
+                case "smoothing"           -> touchSlider.setSmoothing((Smoothing) properties.get(key));
+                case "smoothingTime"       -> touchSlider.setSmoothingTime((double) properties.get(key));
+                case "predictionHorizon"   -> touchSlider.setPredictionHorizon((double) properties.get(key));
+                case "predictionSmoothing" -> touchSlider.setPredictionSmoothing((double) properties.get(key));
+                case "renderer"            -> touchSlider.setRenderer((TouchSliderRenderer) properties.get(key));
+                case "meterVisible"        -> touchSlider.setMeterVisible((boolean) properties.get(key));
+                case "meterColor"          -> touchSlider.setMeterColor((Color) properties.get(key));
+                case "observer"            -> touchSlider.addTouchSliderObserver((TouchSliderObserver) properties.get(key));
             }
         }
         if (properties.containsKey("styleClass")) {
-            touchSlider.getStyleClass().add(((StringProperty) properties.get("styleClass")).get());
+            touchSlider.getStyleClass().add((String) properties.get("styleClass"));
         }
         if (properties.containsKey("sliderValue")) {
-            touchSlider.setSliderValue(((DoubleProperty) properties.get("sliderValue")).get());
+            touchSlider.setSliderValue((double) properties.get("sliderValue"));
         }
         return touchSlider;
     }
@@ -17,14 +17,28 @@
 package eu.hansolo.fx.touchslider;
 
 public class TouchSliderEvent {
+    public enum Origin { TOUCH, MOUSE, PROGRAMMATIC, ANIMATION }
+    public enum Phase { START, MOVE, END }
+
     private final Object src;
     private final double value;
+    private final long   timestamp;
+    private final long   sequence;
+    private final Origin origin;
+    private final Phase  phase;
 
 
     // ******************** Constructors **************************************
     public TouchSliderEvent(final Object src, final double value) {
-        this.src   = src;
-        this.value = value;
+        this(src, value, System.nanoTime(), -1, Origin.PROGRAMMATIC, Phase.MOVE);
+    }
+    public TouchSliderEvent(final Object src, final double value, final long timestamp, final long sequence, final Origin origin, final Phase phase) {
+        this.src       = src;
+        this.value     = value;
+        this.timestamp = timestamp;
+        this.sequence  = sequence;
+        this.origin    = origin;
+        this.phase     = phase;
     }
 
 
@@ -32,4 +46,20 @@ public class TouchSliderEvent {
     public Object getSource() { return src; }
 
     public double getValue() { return value; }
+
+    /**
+     * Returns the System.nanoTime() at which the originating input was handled
+     * @return the System.nanoTime() at which the originating input was handled
+     */
+    public long getTimestamp() { return timestamp; }
+
+    /**
+     * Returns the monotonic sequence number of the event per slider, gaps indicate skipped events
+     * @return the monotonic sequence number of the event per slider
+     */
+    public long getSequence() { return sequence; }
+
+    public Origin getOrigin() { return origin; }
+
+    public Phase getPhase() { return phase; }
 }
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2022 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.fx.touchslider;
+
+import javafx.scene.canvas.GraphicsContext;
+
+
+/**
+ * Precomputed layout of a TouchSlider in track coordinates, independent of the orientation.
+ * The along axis runs from the minimum (0) to the maximum (length) of the slider, the cross axis
+ * runs across the track (0 - thickness). The input fields are set by the slider, the layout fields
+ * are computed by TouchSliderRenderer.layout() once per size, orientation, style or range change.
+ * The drawing methods map track coordinates to canvas coordinates.
+ */
+public final class TouchSliderGeometry {
+    // ******************** Input, set by the slider **************************
+    /** true if the slider is horizontal, along = x, cross = y */
+    public boolean horizontal;
+    /** Length of the track in pixels (width if horizontal, height if vertical) */
+    public double  length;
+    /** Thickness of the track in pixels (height if horizontal, width if vertical) */
+    public double  thickness;
+    /** true if 0 is within the range of the slider */
+    public boolean zeroInRange;
+    /** Position (0.0 - 1.0) of the value 0 */
+    public double  zeroPosition;
+    /** Name of the slider */
+    public String  name;
+
+    // ******************** Layout, computed by the renderer ******************
+    public double  barOffset;
+    public double  barThickness;
+    public double  arcSize;
+    public double  lineWidth;
+    public double  thumbOffset;
+    public double  thumbThickness;
+    public double  thumbLength;
+    public double  zeroAlong;
+    public double  fontSize;
+    public double  valueTextAlong;
+    public double  valueTextMaxWidth;
+    public double  nameTextAlong;
+    public double  nameTextMaxWidth;
+    public double  textCross;
+    public double  meterOffset;
+    public double  meterThickness;
+
+    // ******************** Per slider render state ***************************
+    /** Pre-rendered name of the slider, created by the default renderer if TextMode.GLYPH_ATLAS is used */
+    GlyphAtlas nameAtlas;
+
+
+    // ******************** Constructors **************************************
+    TouchSliderGeometry() {}
+
+
+    // ******************** Methods *******************************************
+    void set(final boolean horizontal, final double width, final double height, final boolean zeroInRange, final double zeroPosition, final String name) {
+        this.horizontal   = horizontal;
+        this.length       = horizontal ? width : height;
+        this.thickness    = horizontal ? height : width;
+        this.zeroInRange  = zeroInRange;
+        this.zeroPosition = zeroPosition;
+        this.name         = name;
+    }
+
+    public double getX(final double along, final double cross) { return horizontal ? along : cross; }
+
+    public double getY(final double along, final double cross) { return horizontal ? cross : length - along; }
+
+    public void fillRect(final GraphicsContext ctx, final double along, final double cross, final double alongSize, final double crossSize) {
+        if (horizontal) {
+            ctx.fillRect(along, cross, alongSize, crossSize);
+        } else {
+            ctx.fillRect(cross, length - along - alongSize, crossSize, alongSize);
+        }
+    }
+
+    public void clearRect(final GraphicsContext ctx, final double along, final double cross, final double alongSize, final double crossSize) {
+        if (horizontal) {
+            ctx.clearRect(along, cross, alongSize, crossSize);
+        } else {
+            ctx.clearRect(cross, length - along - alongSize, crossSize, alongSize);
+        }
+    }
+
+    public void fillRoundRect(final GraphicsContext ctx, final double along, final double cross, final double alongSize, final double crossSize, final double arc) {
+        if (horizontal) {
+            ctx.fillRoundRect(along, cross, alongSize, crossSize, arc, arc);
+        } else {
+            ctx.fillRoundRect(cross, length - along - alongSize, crossSize, alongSize, arc, arc);
+        }
+    }
+
+    public void strokeRoundRect(final GraphicsContext ctx, final double along, final double cross, final double alongSize, final double crossSize, final double arc) {
+        if (horizontal) {
+            ctx.strokeRoundRect(along, cross, alongSize, crossSize, arc, arc);
+        } else {
+            ctx.strokeRoundRect(cross, length - along - alongSize, crossSize, alongSize, arc, arc);
+        }
+    }
+
+    public void strokeCrossLine(final GraphicsContext ctx, final double along, final double cross, final double crossSize) {
+        ctx.strokeLine(getX(along, cross), getY(along, cross), getX(along, cross + crossSize), getY(along, cross + crossSize));
+    }
+}
@@ -0,0 +1,288 @@
+/*
+ * Copyright (c) 2022 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.fx.touchslider;
+
+import javafx.application.Platform;
+import javafx.beans.InvalidationListener;
+import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.beans.property.ReadOnlyBooleanWrapper;
+
+import java.util.Arrays;
+
+
+/**
+ * Undo / redo of the slider values of a TouchSliderBank.
+ * Changes are recorded in a primitive, append-only log of (slider index, old value, new value, timestamp)
+ * entries that is grouped into steps:
+ * all changes during drag gestures are one step (one entry per slider), all other changes that happen
+ * in one run of the FX application thread (e.g. a batched bank.write()) are one step.
+ * The log is a ring buffer with a fixed memory budget, the oldest steps are dropped when it is full.
+ * Undo and redo apply the restored values as one batched update of the bank.
+ * All methods have to be called on the FX application thread.
+ */
+public class TouchSliderHistory implements AutoCloseable {
+    public  static final long                   DEFAULT_MEMORY_BUDGET = 1024 * 1024;
+    // slider index, old value, new value, timestamp and the step start
+    private static final int                    ENTRY_SIZE            = 4 + 8 + 8 + 8 + 8;
+    private final        TouchSliderBank        bank;
+    private final        int                    capacity;
+    private final        int[]                  entryIndex;
+    private final        double[]               entryOld;
+    private final        double[]               entryNew;
+    private final        long[]                 entryTime;
+    private final        long[]                 stepStart;
+    private final        double[]               values;
+    private final        int[]                  openEntry;
+    private final        int[]                  applyIndices;
+    private final        double[]               applyValues;
+    private final        InvalidationListener[] valueListeners;
+    private final        InvalidationListener[] rangeListeners;
+    private final        InvalidationListener[] gestureListeners;
+    private final        Runnable               closeStep;
+    private final        ReadOnlyBooleanWrapper canUndo;
+    private final        ReadOnlyBooleanWrapper canRedo;
+    // Absolute entry and step numbers, the ring position is number % capacity
+    private              long                   entryTail;
+    private              long                   entryHead;
+    private              long                   stepTail;
+    private              long                   stepCursor;
+    private              long                   stepHead;
+    private              boolean                open;
+    private              boolean                closeScheduled;
+    private              boolean                restoring;
+    private              int                    activeGestures;
+
+
+    // ******************** Constructors **************************************
+    public TouchSliderHistory(final TouchSliderBank bank) {
+        this(bank, DEFAULT_MEMORY_BUDGET);
+    }
+    /**
+     * @param bank the sliders to record
+     * @param memoryBudget the size of the log in bytes, at least two steps that change all sliders fit into the log
+     */
+    public TouchSliderHistory(final TouchSliderBank bank, final long memoryBudget) {
+        final int size = bank.size();
+        this.bank             = bank;
+        this.capacity         = (int) Math.min(Integer.MAX_VALUE, Math.max(Math.max(2, size * 2L), memoryBudget / ENTRY_SIZE));
+        this.entryIndex       = new int[capacity];
+        this.entryOld         = new double[capacity];
+        this.entryNew         = new double[capacity];
+        this.entryTime        = new long[capacity];
+        this.stepStart        = new long[capacity];
+        this.values           = new double[size];
+        this.openEntry        = new int[size];
+        this.applyIndices     = new int[size];
+        this.applyValues      = new double[size];
+        this.valueListeners   = new InvalidationListener[size];
+        this.rangeListeners   = new InvalidationListener[size];
+        this.gestureListeners = new InvalidationListener[size];
+        this.closeStep        = () -> {
+            closeScheduled = false;
+            // Steps of a drag gesture are closed when the last gesture ended
+            if (0 == activeGestures) { closeStep(); }
+        };
+        this.canUndo          = new ReadOnlyBooleanWrapper(this, "canUndo", false);
+        this.canRedo          = new ReadOnlyBooleanWrapper(this, "canRedo", false);
+        Arrays.fill(openEntry, -1);
+        for (int i = 0 ; i < size ; i++) {
+            final int         index  = i;
+            final TouchSlider slider = bank.getSlider(i);
+            values[i]           = slider.getSliderValue();
+            valueListeners[i]   = o -> changed(index);
+            // Changes of the value range change the value but are not recorded
+            rangeListeners[i]   = o -> values[index] = bank.getSlider(index).getSliderValue();
+            gestureListeners[i] = o -> gestureChanged(bank.getSlider(index).isGestureActive());
+            slider.valueProperty().addListener(valueListeners[i]);
+            slider.minValueProperty().addListener(rangeListeners[i]);
+            slider.rangeProperty().addListener(rangeListeners[i]);
+            slider.taperProperty().addListener(rangeListeners[i]);
+            slider.gestureActiveProperty().addListener(gestureListeners[i]);
+            if (slider.isGestureActive()) { activeGestures++; }
+        }
+    }
+
+
+    // ******************** Methods *******************************************
+    /**
+     * Restores the values before the last step
+     * @return false if there is nothing to undo
+     */
+    public boolean undo() {
+        closeStep();
+        if (stepCursor == stepTail) { return false; }
+        stepCursor--;
+        apply(stepCursor, true);
+        return true;
+    }
+
+    /**
+     * Applies the last undone step again
+     * @return false if there is nothing to redo
+     */
+    public boolean redo() {
+        closeStep();
+        if (stepCursor == stepHead) { return false; }
+        apply(stepCursor, false);
+        stepCursor++;
+        return true;
+    }
+
+    public boolean canUndo() { return canUndo.get(); }
+    public ReadOnlyBooleanProperty canUndoProperty() { return canUndo.getReadOnlyProperty(); }
+
+    public boolean canRedo() { return canRedo.get(); }
+    public ReadOnlyBooleanProperty canRedoProperty() { return canRedo.getReadOnlyProperty(); }
+
+    /**
+     * Returns the number of steps that can be undone
+     * @return the number of steps that can be undone
+     */
+    public int getUndoCount() { return (int) (stepCursor - stepTail); }
+
+    /**
+     * Returns the number of steps that can be redone
+     * @return the number of steps that can be redone
+     */
+    public int getRedoCount() { return (int) (stepHead - stepCursor); }
+
+    /**
+     * Returns the time (System.nanoTime()) of the last change of the step that would be undone next
+     * @return the time of the last change of the step that would be undone next or -1 if there is nothing to undo
+     */
+    public long getUndoTimestamp() {
+        if (stepCursor == stepTail) { return -1; }
+        long timestamp = -1;
+        for (long e = stepStart[position(stepCursor - 1)], end = stepEnd(stepCursor - 1) ; e < end ; e++) { timestamp = Math.max(timestamp, entryTime[position(e)]); }
+        return timestamp;
+    }
+
+    /**
+     * Returns the size of the log in bytes
+     * @return the size of the log in bytes
+     */
+    public long getMemoryUsage() { return (long) capacity * ENTRY_SIZE; }
+
+    /**
+     * Removes all steps
+     */
+    public void clear() {
+        closeStep();
+        entryTail  = entryHead;
+        stepTail   = stepHead;
+        stepCursor = stepHead;
+        updateState();
+    }
+
+    /**
+     * Stops recording and detaches the history from the sliders
+     */
+    @Override public void close() {
+        for (int i = 0 ; i < values.length ; i++) {
+            final TouchSlider slider = bank.getSlider(i);
+            slider.valueProperty().removeListener(valueListeners[i]);
+            slider.minValueProperty().removeListener(rangeListeners[i]);
+            slider.rangeProperty().removeListener(rangeListeners[i]);
+            slider.taperProperty().removeListener(rangeListeners[i]);
+            slider.gestureActiveProperty().removeListener(gestureListeners[i]);
+        }
+    }
+
+    private void changed(final int index) {
+        final double oldValue = values[index];
+        final double newValue = bank.getSlider(index).getSliderValue();
+        values[index] = newValue;
+        if (restoring || Double.compare(oldValue, newValue) == 0) { return; }
+        if (!open) { openStep(); }
+        final int entry = openEntry[index];
+        if (entry >= 0) {
+            // The slider was already changed in this step, only the new value is updated
+            entryNew[entry]  = newValue;
+            entryTime[entry] = System.nanoTime();
+            return;
+        }
+        if (entryHead - entryTail == capacity) { dropOldestStep(); }
+        final int position = position(entryHead++);
+        entryIndex[position] = index;
+        entryOld[position]   = oldValue;
+        entryNew[position]   = newValue;
+        entryTime[position]  = System.nanoTime();
+        openEntry[index]     = position;
+    }
+
+    private void gestureChanged(final boolean active) {
+        if (active) {
+            // A new gesture starts a new step, unless it joins running gestures
+            if (0 == activeGestures++) { closeStep(); }
+        } else if (--activeGestures == 0) {
+            closeStep();
+        }
+    }
+
+    private void openStep() {
+        // A new step drops the steps that were undone
+        entryHead = stepCursor == stepHead ? entryHead : stepStart[position(stepCursor)];
+        stepHead  = stepCursor;
+        if (stepHead - stepTail == capacity) { dropOldestStep(); }
+        stepStart[position(stepHead)] = entryHead;
+        stepHead++;
+        stepCursor = stepHead;
+        open       = true;
+        if (0 == activeGestures && !closeScheduled) {
+            closeScheduled = true;
+            Platform.runLater(closeStep);
+        }
+        updateState();
+    }
+
+    private void closeStep() {
+        if (!open) { return; }
+        open = false;
+        for (long e = stepStart[position(stepHead - 1)] ; e < entryHead ; e++) { openEntry[entryIndex[position(e)]] = -1; }
+    }
+
+    private void dropOldestStep() {
+        entryTail = stepEnd(stepTail);
+        stepTail++;
+    }
+
+    private void apply(final long step, final boolean undo) {
+        int count = 0;
+        for (long e = stepStart[position(step)], end = stepEnd(step) ; e < end ; e++) {
+            final int position = position(e);
+            applyIndices[count] = entryIndex[position];
+            applyValues[count]  = undo ? entryOld[position] : entryNew[position];
+            count++;
+        }
+        restoring = true;
+        try {
+            bank.write(applyIndices, applyValues, count);
+        } finally {
+            restoring = false;
+        }
+        updateState();
+    }
+
+    private long stepEnd(final long step) { return step + 1 < stepHead ? stepStart[position(step + 1)] : entryHead; }
+
+    private int position(final long number) { return (int) (number % capacity); }
+
+    private void updateState() {
+        canUndo.set(stepCursor > stepTail);
+        canRedo.set(stepHead > stepCursor);
+    }
+}
@@ -0,0 +1,335 @@
+/*
+ * Copyright (c) 2022 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.fx.touchslider;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+
+/**
+ * Mirrors the values of a TouchSliderBank over HTTP so browsers can watch them without a JavaFX client.
+ * <ul>
+ *   <li>GET /values returns the slider values as JSON array, e.g. [0.5,-12.0,3.25]</li>
+ *   <li>GET /events is a stream of server-sent events, an "event: snapshot" with the JSON array
+ *       of all values followed by "event: delta" events (at most about one per pulse) with a JSON
+ *       object of the sliders that changed, e.g. {"1":-11.5,"2":3.0}</li>
+ * </ul>
+ * The changes are encoded once on a daemon thread and the same bytes are queued to all clients,
+ * the thread sleeps until the bank signals a change.
+ * Every client is written by its own thread, a client that can not keep up skips deltas and is
+ * resynchronized with a snapshot. The number of event stream clients is limited, further clients
+ * are answered with 503 (Service Unavailable). By default the mirror only listens on the loopback address.
+ * A mirror can only be started once, it can not be restarted after close().
+ * <pre>
+ * const events = new EventSource("http://localhost:8080/events");
+ * events.addEventListener("delta", e => Object.entries(JSON.parse(e.data)).forEach(([i, v]) => ...));
+ * </pre>
+ */
+public class TouchSliderHttpMirror implements AutoCloseable {
+    public  static final int                                   DEFAULT_MAX_CLIENTS = 32;
+    private static final int                                   BUFFERED_FRAMES     = 16;
+    // Threads for the /values requests in addition to the event streams
+    private static final int                                   REQUEST_THREADS     = 2;
+    private static final long                                  KEEP_ALIVE_INTERVAL = 15_000;
+    private static final long                                  DELTA_INTERVAL      = 16_000_000L;
+    private static final byte[]                                KEEP_ALIVE          = ":\n\n".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[]                                CLOSED              = new byte[0];
+    private final        TouchSliderBank                       bank;
+    private final        HttpServer                            server;
+    private final        ExecutorService                       executor;
+    private final        Runnable                              signal;
+    private final        double[]                              current;
+    private final        double[]                              sent;
+    private final        StringBuilder                         text;
+    private final        List<Client>                          clients;
+    private final        ConcurrentLinkedQueue<Client>         joining;
+    private final        AtomicInteger                         streams;
+    private final        int                                   maxClients;
+    private volatile     boolean                               changed;
+    private volatile     boolean                               running;
+    private volatile     boolean                               closed;
+    private volatile     int                                   clientCount;
+    private              Thread                                thread;
+
+
+    // ******************** Constructors **************************************
+    /**
+     * @param bank the sliders to mirror
+     * @param port the port to listen on the loopback address, 0 picks a free port (see getLocalPort())
+     * @throws IOException
+     */
+    public TouchSliderHttpMirror(final TouchSliderBank bank, final int port) throws IOException {
+        this(bank, new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+    }
+    public TouchSliderHttpMirror(final TouchSliderBank bank, final InetSocketAddress address) throws IOException {
+        this(bank, address, DEFAULT_MAX_CLIENTS);
+    }
+    /**
+     * @param bank the sliders to mirror
+     * @param address the address to listen on
+     * @param maxClients the maximum number of event stream clients
+     * @throws IOException
+     */
+    public TouchSliderHttpMirror(final TouchSliderBank bank, final InetSocketAddress address, final int maxClients) throws IOException {
+        if (maxClients < 1) { throw new IllegalArgumentException("maxClients must be at least 1"); }
+        this.bank       = bank;
+        this.maxClients = maxClients;
+        this.current    = new double[bank.size()];
+        this.sent       = new double[bank.size()];
+        this.text       = new StringBuilder(bank.size() * 24);
+        this.clients    = new ArrayList<>();
+        this.joining    = new ConcurrentLinkedQueue<>();
+        this.streams    = new AtomicInteger();
+        // Every event stream blocks one thread, the limit of streams keeps threads for the /values requests
+        this.executor   = Executors.newFixedThreadPool(maxClients + REQUEST_THREADS, runnable -> {
+            final Thread thread = new Thread(runnable, "TouchSlider Http Mirror Client");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.server     = HttpServer.create(address, 0);
+        this.server.setExecutor(executor);
+        this.server.createContext("/values", this::handleValues);
+        this.server.createContext("/events", this::handleEvents);
+        this.signal     = () -> {
+            if (changed) { return; }
+            changed = true;
+            LockSupport.unpark(thread);
+        };
+    }
+
+
+    // ******************** Methods *******************************************
+    /**
+     * Starts serving the values and publishing the changes of the bank
+     * @return this mirror
+     * @throws IllegalStateException if the mirror was closed
+     */
+    public TouchSliderHttpMirror start() {
+        if (closed) { throw new IllegalStateException("Mirror is closed and can not be restarted"); }
+        if (running) { return this; }
+        running = true;
+        bank.read(sent);
+        // Changes between reading the values and adding the listener are sent with the first delta
+        changed = true;
+        thread  = new Thread(this::run, "TouchSlider Http Mirror");
+        thread.setDaemon(true);
+        thread.start();
+        server.start();
+        bank.addChangeListener(signal);
+        return this;
+    }
+
+    /**
+     * Returns the port the mirror listens on
+     * @return the port the mirror listens on
+     */
+    public int getLocalPort() { return server.getAddress().getPort(); }
+
+    /**
+     * Returns the number of connected event stream clients
+     * @return the number of connected event stream clients
+     */
+    public int getClientCount() { return clientCount; }
+
+    /**
+     * Returns the maximum number of event stream clients
+     * @return the maximum number of event stream clients
+     */
+    public int getMaxClients() { return maxClients; }
+
+    @Override public void close() {
+        if (closed) { return; }
+        closed = true;
+        if (!running) {
+            server.stop(0);
+            executor.shutdownNow();
+            return;
+        }
+        running = false;
+        bank.removeChangeListener(signal);
+        LockSupport.unpark(thread);
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    // Encodes the changes once and queues the bytes to all clients
+    private void run() {
+        long nextDelta = System.nanoTime();
+        while (running) {
+            if (!changed && joining.isEmpty()) { LockSupport.park(this); }
+            byte[] snapshot = null;
+            // Changes within the interval are sent with the next delta, joining clients are served right away
+            if (changed && System.nanoTime() - nextDelta >= 0) {
+                changed   = false;
+                nextDelta = System.nanoTime() + DELTA_INTERVAL;
+                final byte[] delta = encodeDelta();
+                if (null != delta) {
+                    for (Client client : clients) {
+                        if (client.queue.offer(delta)) { continue; }
+                        // The client is too slow, drop its queued deltas and resynchronize it
+                        if (null == snapshot) { snapshot = encodeSnapshot(); }
+                        client.queue.clear();
+                        client.queue.offer(snapshot);
+                    }
+                }
+            }
+            for (Client client = joining.poll() ; null != client ; client = joining.poll()) {
+                if (null == snapshot) { snapshot = encodeSnapshot(); }
+                client.queue.offer(snapshot);
+                clients.add(client);
+            }
+            clients.removeIf(client -> client.closed);
+            clientCount = clients.size();
+            if (changed && joining.isEmpty()) { LockSupport.parkNanos(this, nextDelta - System.nanoTime()); }
+        }
+        for (Client client : clients) {
+            client.queue.clear();
+            client.queue.offer(CLOSED);
+        }
+        clients.clear();
+        clientCount = 0;
+    }
+
+    private byte[] encodeDelta() {
+        bank.read(current);
+        text.setLength(0);
+        text.append("event: delta\ndata: {");
+        for (int i = 0 ; i < current.length ; i++) {
+            if (Double.compare(current[i], sent[i]) == 0) { continue; }
+            sent[i] = current[i];
+            if (text.charAt(text.length() - 1) != '{') { text.append(','); }
+            text.append('"').append(i).append("\":");
+            appendNumber(text, current[i]);
+        }
+        if (text.charAt(text.length() - 1) == '{') { return null; }
+        text.append("}\n\n");
+        return text.toString().getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private byte[] encodeSnapshot() {
+        text.setLength(0);
+        text.append("event: snapshot\ndata: ");
+        appendValues(text, sent);
+        text.append("\n\n");
+        return text.toString().getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private void handleValues(final HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!accept(exchange, "/values")) { return; }
+            final double[]      values = new double[bank.size()];
+            final StringBuilder json   = new StringBuilder(values.length * 24);
+            bank.read(values);
+            appendValues(json, values);
+            final byte[] body = json.toString().getBytes(StandardCharsets.US_ASCII);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+        }
+    }
+
+    private void handleEvents(final HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!accept(exchange, "/events")) { return; }
+            if (streams.incrementAndGet() > maxClients) {
+                streams.decrementAndGet();
+                exchange.getResponseHeaders().set("Retry-After", "5");
+                exchange.sendResponseHeaders(503, -1);
+                return;
+            }
+            try {
+                stream(exchange);
+            } finally {
+                streams.decrementAndGet();
+            }
+        }
+    }
+
+    private void stream(final HttpExchange exchange) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "text/event-stream");
+        exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+        exchange.sendResponseHeaders(200, 0);
+        final OutputStream out    = exchange.getResponseBody();
+        final Client       client = new Client();
+        joining.add(client);
+        LockSupport.unpark(thread);
+        try {
+            while (running) {
+                final byte[] frame = client.queue.poll(KEEP_ALIVE_INTERVAL, TimeUnit.MILLISECONDS);
+                if (CLOSED == frame) { break; }
+                // Comment lines keep proxies from closing the stream and detect disconnected clients
+                out.write(null == frame ? KEEP_ALIVE : frame);
+                out.flush();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            client.closed = true;
+            LockSupport.unpark(thread);
+        }
+    }
+
+    private static boolean accept(final HttpExchange exchange, final String path) throws IOException {
+        if (!path.equals(exchange.getRequestURI().getPath())) {
+            exchange.sendResponseHeaders(404, -1);
+            return false;
+        }
+        if (!"GET".equals(exchange.getRequestMethod())) {
+            exchange.getResponseHeaders().set("Allow", "GET");
+            exchange.sendResponseHeaders(405, -1);
+            return false;
+        }
+        return true;
+    }
+
+    private static void appendValues(final StringBuilder json, final double[] values) {
+        json.append('[');
+        for (int i = 0 ; i < values.length ; i++) {
+            if (i > 0) { json.append(','); }
+            appendNumber(json, values[i]);
+        }
+        json.append(']');
+    }
+
+    // JSON has no NaN and Infinity
+    private static void appendNumber(final StringBuilder json, final double value) {
+        if (Double.isFinite(value)) { json.append(value); } else { json.append("null"); }
+    }
+
+
+    // ******************** Inner Classes *************************************
+    private static class Client {
+        private final    ArrayBlockingQueue<byte[]> queue = new ArrayBlockingQueue<>(BUFFERED_FRAMES);
+        private volatile boolean                    closed;
+    }
+}
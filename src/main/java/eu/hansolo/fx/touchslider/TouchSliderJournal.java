@@ -0,0 +1,313 @@
+/*
+ * Copyright (c) 2022 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.fx.touchslider;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.locks.LockSupport;
+import java.util.zip.CRC32;
+
+
+/**
+ * Persists the slider values of a TouchSliderBank so they can be restored after the process died.
+ * The changes are appended to a memory mapped journal file, at most about once per pulse and only
+ * for the sliders that changed. The appends are done on a daemon thread that sleeps until the bank
+ * signals a change, an idle bank costs nothing. When the journal is full a compact checkpoint of all values
+ * is written and the journal starts over, so recovery reads at most one checkpoint and one journal
+ * of a fixed size, no matter how long the session was.
+ * Appended changes survive a crash of the process, they are forced to the storage device when a
+ * checkpoint is written and on close().
+ * The checkpoint replaces the previous one by an atomic rename, the directory is not forced after
+ * the rename (Java has no portable way to do so). After a power failure right after a checkpoint
+ * the previous checkpoint may be found, the journal of the new generation is then ignored and the
+ * values of the previous checkpoint are restored.
+ * I/O errors of the journal thread are reported to its uncaught exception handler.
+ * <pre>
+ * TouchSliderJournal journal = new TouchSliderJournal(bank, directory);
+ * journal.recover();
+ * journal.start();
+ * </pre>
+ */
+public class TouchSliderJournal implements AutoCloseable {
+    public  static final int              DEFAULT_JOURNAL_SIZE = 1024 * 1024;
+    private static final String           CHECKPOINT_FILE      = "touchslider.checkpoint";
+    private static final String           JOURNAL_FILE         = "touchslider.journal";
+    private static final int              CHECKPOINT_MAGIC     = 0x54534350;
+    private static final int              JOURNAL_MAGIC        = 0x54534A4C;
+    // magic, generation, number of sliders
+    private static final int              HEADER_SIZE          = 4 + 8 + 4;
+    // slider index, slider value
+    private static final int              ENTRY_SIZE           = 4 + 8;
+    private static final long             APPEND_INTERVAL      = 16_000_000L;
+    private final        TouchSliderBank  bank;
+    private final        Path             checkpointPath;
+    private final        Path             journalPath;
+    private final        int              journalSize;
+    private final        double[]         current;
+    private final        double[]         written;
+    private final        ByteBuffer       batch;
+    private final        byte[]           generationBytes;
+    private final        CRC32            crc;
+    private final        Runnable         signal;
+    private              FileChannel      channel;
+    private              MappedByteBuffer journal;
+    private              long             generation;
+    private              boolean          recovered;
+    private volatile     boolean          changed;
+    private volatile     boolean          running;
+    private volatile     long             checkpointCount;
+    private              Thread           thread;
+
+
+    // ******************** Constructors **************************************
+    public TouchSliderJournal(final TouchSliderBank bank, final Path directory) {
+        this(bank, directory, DEFAULT_JOURNAL_SIZE);
+    }
+    /**
+     * @param bank the sliders to persist
+     * @param directory the directory of the checkpoint and the journal file
+     * @param journalSize the size of the journal file in bytes, at least two changes of all sliders fit into the journal
+     */
+    public TouchSliderJournal(final TouchSliderBank bank, final Path directory, final int journalSize) {
+        this.bank            = bank;
+        this.checkpointPath  = directory.resolve(CHECKPOINT_FILE);
+        this.journalPath     = directory.resolve(JOURNAL_FILE);
+        this.journalSize     = Math.max(journalSize, HEADER_SIZE + 2 * maxBatchSize(bank.size()));
+        this.current         = new double[bank.size()];
+        this.written         = new double[bank.size()];
+        this.batch           = ByteBuffer.allocate(maxBatchSize(bank.size()));
+        this.generationBytes = new byte[8];
+        this.crc             = new CRC32();
+        this.signal          = () -> {
+            if (changed) { return; }
+            changed = true;
+            LockSupport.unpark(thread);
+        };
+    }
+
+
+    // ******************** Methods *******************************************
+    /**
+     * Restores the slider values of the last checkpoint and the changes of the journal as one batched
+     * update of the bank. Has to be called before start().
+     * @return true if values have been restored
+     * @throws IOException
+     */
+    public boolean recover() throws IOException {
+        if (running) { throw new IllegalStateException("Journal already started"); }
+        bank.read(written);
+        final ByteBuffer checkpoint = readCheckpoint();
+        if (null == checkpoint) { return false; }
+        final long checkpointGeneration = checkpoint.getLong();
+        final int  count                = checkpoint.getInt();
+        for (int i = 0 ; i < count ; i++) {
+            final double value = checkpoint.getDouble();
+            if (i < written.length) { written[i] = value; }
+        }
+        replayJournal(checkpointGeneration);
+        recovered = true;
+        bank.write(written);
+        return true;
+    }
+
+    /**
+     * Starts journaling the changes of the bank, the journal thread starts with a checkpoint of the current values
+     * @return this journal
+     * @throws IOException
+     */
+    public TouchSliderJournal start() throws IOException {
+        if (running) { return this; }
+        // The recovered values might not be applied to the bank yet if recover() was called off the FX application thread
+        if (!recovered) { bank.read(written); }
+        Files.createDirectories(checkpointPath.getParent());
+        running = true;
+        // Changes between reading the values and adding the listener are appended right after the first checkpoint
+        changed = true;
+        thread  = new Thread(this::run, "TouchSlider Journal");
+        thread.setDaemon(true);
+        thread.start();
+        bank.addChangeListener(signal);
+        return this;
+    }
+
+    /**
+     * Returns the number of checkpoints that have been written since start()
+     * @return the number of checkpoints that have been written since start()
+     */
+    public long getCheckpointCount() { return checkpointCount; }
+
+    /**
+     * Stops journaling, the last changes are appended and the journal is forced to the storage device
+     */
+    @Override public void close() {
+        if (!running) { return; }
+        running = false;
+        bank.removeChangeListener(signal);
+        LockSupport.unpark(thread);
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        try {
+            open();
+            while (running) {
+                if (!changed) { LockSupport.park(this); }
+                if (!changed) { continue; }
+                changed = false;
+                append();
+                // Changes within the interval are appended together with the next batch
+                final long next = System.nanoTime() + APPEND_INTERVAL;
+                for (long wait = APPEND_INTERVAL ; running && wait > 0 ; wait = next - System.nanoTime()) { LockSupport.parkNanos(this, wait); }
+            }
+            append();
+            journal.force();
+        } catch (IOException | RuntimeException e) {
+            Thread.currentThread().getUncaughtExceptionHandler().uncaughtException(Thread.currentThread(), e);
+        } finally {
+            try {
+                if (null != channel) { channel.close(); }
+            } catch (IOException e) {
+                Thread.currentThread().getUncaughtExceptionHandler().uncaughtException(Thread.currentThread(), e);
+            }
+        }
+    }
+
+    // Maps the journal and writes the first checkpoint, the generation continues after the last checkpoint
+    private void open() throws IOException {
+        final ByteBuffer checkpoint = readCheckpoint();
+        generation = null == checkpoint ? 0 : checkpoint.getLong();
+        channel    = FileChannel.open(journalPath, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        journal    = channel.map(FileChannel.MapMode.READ_WRITE, 0, journalSize);
+        checkpoint();
+    }
+
+    // Appends one batch of (index, value) entries of all sliders that changed since the last append
+    private void append() throws IOException {
+        bank.read(current);
+        batch.clear();
+        batch.putInt(0);
+        int count = 0;
+        for (int i = 0 ; i < current.length ; i++) {
+            if (Double.compare(current[i], written[i]) == 0) { continue; }
+            written[i] = current[i];
+            batch.putInt(i).putDouble(current[i]);
+            count++;
+        }
+        if (0 == count) { return; }
+        if (journal.remaining() < batch.position() + 4) {
+            // The checkpoint contains the values of this batch
+            checkpoint();
+            return;
+        }
+        batch.putInt(0, count);
+        crc.reset();
+        crc.update(generationBytes);
+        crc.update(batch.array(), 0, batch.position());
+        journal.put(batch.array(), 0, batch.position());
+        journal.putInt((int) crc.getValue());
+    }
+
+    /*
+     * Writes all values to a new checkpoint file that replaces the old one atomically and
+     * starts a new journal. A journal is only replayed on top of the checkpoint with the same
+     * generation, so a crash in between leaves either the old or the new checkpoint valid.
+     */
+    private void checkpoint() throws IOException {
+        generation++;
+        final ByteBuffer checkpoint = ByteBuffer.allocate(HEADER_SIZE + written.length * 8 + 4);
+        checkpoint.putInt(CHECKPOINT_MAGIC).putLong(generation).putInt(written.length);
+        for (double value : written) { checkpoint.putDouble(value); }
+        crc.reset();
+        crc.update(checkpoint.array(), 0, checkpoint.position());
+        checkpoint.putInt((int) crc.getValue());
+        checkpoint.flip();
+
+        final Path tmp = checkpointPath.resolveSibling(CHECKPOINT_FILE + ".tmp");
+        try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (checkpoint.hasRemaining()) { out.write(checkpoint); }
+            out.force(true);
+        }
+        Files.move(tmp, checkpointPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        ByteBuffer.wrap(generationBytes).putLong(generation);
+        journal.clear();
+        journal.putInt(JOURNAL_MAGIC).putLong(generation).putInt(written.length);
+        journal.putInt(HEADER_SIZE, 0);
+        journal.force();
+        checkpointCount++;
+    }
+
+    // Returns the checkpoint positioned at the generation or null if there is no valid checkpoint
+    private ByteBuffer readCheckpoint() throws IOException {
+        if (!Files.isRegularFile(checkpointPath)) { return null; }
+        final ByteBuffer checkpoint = ByteBuffer.wrap(Files.readAllBytes(checkpointPath));
+        if (checkpoint.limit() < HEADER_SIZE + 4 || checkpoint.getInt(0) != CHECKPOINT_MAGIC) { return null; }
+        final int count = checkpoint.getInt(12);
+        if (count < 0 || checkpoint.limit() < HEADER_SIZE + count * 8L + 4) { return null; }
+        final int size = HEADER_SIZE + count * 8;
+        crc.reset();
+        crc.update(checkpoint.array(), 0, size);
+        if ((int) crc.getValue() != checkpoint.getInt(size)) { return null; }
+        checkpoint.position(4);
+        return checkpoint;
+    }
+
+    // Applies the valid batches of the journal to written, the first torn or stale batch ends the journal
+    private void replayJournal(final long checkpointGeneration) throws IOException {
+        if (!Files.isRegularFile(journalPath)) { return; }
+        try (FileChannel in = FileChannel.open(journalPath, StandardOpenOption.READ)) {
+            final long size = in.size();
+            if (size < HEADER_SIZE) { return; }
+            final MappedByteBuffer log = in.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (log.getInt() != JOURNAL_MAGIC || log.getLong() != checkpointGeneration) { return; }
+            // The header is not covered by a checksum, a batch can not be larger than the journal
+            final int sliderCount = log.getInt();
+            if (sliderCount <= 0 || 4L + (long) sliderCount * ENTRY_SIZE + 4 > size - HEADER_SIZE) { return; }
+            final byte[] entries = new byte[maxBatchSize(sliderCount)];
+            ByteBuffer.wrap(generationBytes).putLong(checkpointGeneration);
+            while (log.remaining() >= 8) {
+                final int start = log.position();
+                final int count = log.getInt();
+                if (count <= 0 || count > sliderCount || log.remaining() < count * ENTRY_SIZE + 4) { return; }
+                final int length = 4 + count * ENTRY_SIZE;
+                log.get(start, entries, 0, length);
+                crc.reset();
+                crc.update(generationBytes);
+                crc.update(entries, 0, length);
+                if ((int) crc.getValue() != log.getInt(start + length)) { return; }
+                for (int i = 0 ; i < count ; i++) {
+                    final int    index = log.getInt();
+                    final double value = log.getDouble();
+                    if (index >= 0 && index < written.length) { written[index] = value; }
+                }
+                log.getInt();
+            }
+        }
+    }
+
+    private static int maxBatchSize(final int sliderCount) { return 4 + sliderCount * ENTRY_SIZE + 4; }
+}
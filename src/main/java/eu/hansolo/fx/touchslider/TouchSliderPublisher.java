@@ -0,0 +1,211 @@
+/*
+ * Copyright (c) 2022 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.fx.touchslider;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+
+/**
+ * Publishes the TouchSliderEvents of one or more sliders to reactive subscribers.
+ * Every subscriber has its own demand, if a subscriber has no outstanding requests
+ * the updates are conflated to the latest event per slider. Every subscription keeps a queue
+ * of the sliders with pending events, so delivering an event does not scan all sliders.
+ * Subscribers are signalled on the given executor (ForkJoinPool.commonPool() by default).
+ */
+public class TouchSliderPublisher implements Flow.Publisher<TouchSliderEvent>, AutoCloseable {
+    private final Executor                                     executor;
+    private final List<TouchSlider>                            sliders;
+    private final TouchSliderSubscription[]                    sliderSubscriptions;
+    private final CopyOnWriteArrayList<ConflatingSubscription> subscriptions;
+    private volatile boolean                                   closed;
+
+
+    // ******************** Constructors **************************************
+    public TouchSliderPublisher(final TouchSlider... sliders) {
+        this(ForkJoinPool.commonPool(), sliders);
+    }
+    public TouchSliderPublisher(final Executor executor, final TouchSlider... sliders) {
+        this.executor            = Objects.requireNonNull(executor);
+        this.sliders             = List.of(sliders);
+        this.sliderSubscriptions = new TouchSliderSubscription[sliders.length];
+        this.subscriptions       = new CopyOnWriteArrayList<>();
+        for (int i = 0 ; i < sliders.length ; i++) {
+            final int index = i;
+            sliderSubscriptions[i] = sliders[i].subscribe(evt -> publish(index, evt));
+        }
+    }
+
+
+    // ******************** Methods *******************************************
+    @Override public void subscribe(final Flow.Subscriber<? super TouchSliderEvent> subscriber) {
+        Objects.requireNonNull(subscriber);
+        final ConflatingSubscription subscription = new ConflatingSubscription(subscriber);
+        subscriber.onSubscribe(subscription);
+        if (closed) {
+            subscription.complete();
+        } else {
+            subscriptions.add(subscription);
+        }
+    }
+
+    public List<TouchSlider> getSliders() { return sliders; }
+
+    public int getNumberOfSubscribers() { return subscriptions.size(); }
+
+    /**
+     * Detaches the publisher from the sliders and completes all subscribers
+     */
+    @Override public void close() {
+        if (closed) { return; }
+        closed = true;
+        for (TouchSliderSubscription subscription : sliderSubscriptions) { subscription.unsubscribe(); }
+        subscriptions.forEach(ConflatingSubscription::complete);
+        subscriptions.clear();
+    }
+
+    private void publish(final int index, final TouchSliderEvent evt) {
+        if (subscriptions.isEmpty()) { return; }
+        for (ConflatingSubscription subscription : subscriptions) { subscription.offer(index, evt); }
+    }
+
+
+    // ******************** Inner Classes *************************************
+    private class ConflatingSubscription implements Flow.Subscription, Runnable {
+        private final Flow.Subscriber<? super TouchSliderEvent> subscriber;
+        private final AtomicReferenceArray<TouchSliderEvent>    latest;
+        // The indices of the sliders with a pending event, every index is queued at most once
+        private final AtomicIntegerArray                        queued;
+        private final int[]                                     pending;
+        private       int                                       pendingHead;
+        private       int                                       pendingCount;
+        private final AtomicLong                                demand;
+        private final AtomicInteger                             wip;
+        private volatile boolean                                cancelled;
+        private volatile boolean                                completed;
+        private volatile Throwable                              error;
+
+
+        // ******************** Constructors **********************************
+        ConflatingSubscription(final Flow.Subscriber<? super TouchSliderEvent> subscriber) {
+            this.subscriber = subscriber;
+            this.latest     = new AtomicReferenceArray<>(sliders.size());
+            this.queued     = new AtomicIntegerArray(sliders.size());
+            this.pending    = new int[sliders.size()];
+            this.demand     = new AtomicLong();
+            this.wip        = new AtomicInteger();
+        }
+
+
+        // ******************** Methods ***************************************
+        @Override public void request(final long n) {
+            if (n <= 0) {
+                error = new IllegalArgumentException("non-positive subscription request");
+            } else {
+                demand.getAndUpdate(d -> d + n < 0 ? Long.MAX_VALUE : d + n);
+            }
+            schedule();
+        }
+
+        @Override public void cancel() {
+            cancelled = true;
+            subscriptions.remove(this);
+        }
+
+        void offer(final int index, final TouchSliderEvent evt) {
+            // Overwrites an undelivered event of the same slider (conflation)
+            latest.set(index, evt);
+            if (queued.compareAndSet(index, 0, 1)) {
+                synchronized (pending) {
+                    pending[(pendingHead + pendingCount) % pending.length] = index;
+                    pendingCount++;
+                }
+            }
+            schedule();
+        }
+
+        void complete() {
+            completed = true;
+            schedule();
+        }
+
+        private void schedule() {
+            if (wip.getAndIncrement() == 0) {
+                try {
+                    executor.execute(this);
+                } catch (RuntimeException e) {
+                    wip.set(0);
+                    cancel();
+                }
+            }
+        }
+
+        // Returns the index of the slider with the oldest pending event or -1 if there is none
+        private int poll() {
+            synchronized (pending) {
+                if (0 == pendingCount) { return -1; }
+                final int index = pending[pendingHead];
+                pendingHead = (pendingHead + 1) % pending.length;
+                pendingCount--;
+                return index;
+            }
+        }
+
+        // Drains the pending events, only ever runs on one thread at a time
+        @Override public void run() {
+            int missed = 1;
+            do {
+                if (cancelled) { return; }
+                if (null != error) {
+                    cancel();
+                    subscriber.onError(error);
+                    return;
+                }
+                while (demand.get() > 0 && !cancelled) {
+                    final int index = poll();
+                    if (index < 0) { break; }
+                    // An event that is offered from now on queues the slider again
+                    queued.set(index, 0);
+                    final TouchSliderEvent evt = latest.getAndSet(index, null);
+                    if (null == evt) { continue; }
+                    if (demand.get() != Long.MAX_VALUE) { demand.decrementAndGet(); }
+                    try {
+                        subscriber.onNext(evt);
+                    } catch (Throwable t) {
+                        cancel();
+                        subscriber.onError(t);
+                        return;
+                    }
+                }
+                if (completed && !cancelled) {
+                    cancelled = true;
+                    subscriber.onComplete();
+                    return;
+                }
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2022 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.fx.touchslider;
+
+import javafx.scene.canvas.GraphicsContext;
+
+
+/**
+ * Draws a TouchSlider. The geometry is computed in layout() once per size, orientation, style
+ * or range change, draw() is called on every value change and should only evaluate what depends
+ * on the position. Renderers can be shared between sliders (e.g. when set via the css property
+ * -renderer) and must not keep per slider state, everything per slider lives in the geometry.
+ * Renderers that are set via css need a public no-arg constructor.
+ */
+public interface TouchSliderRenderer {
+    TouchSliderRenderer DEFAULT = new DefaultTouchSliderRenderer();
+
+
+    /**
+     * Computes the layout fields of the given geometry from its input fields and the style
+     * @param geometry
+     * @param style
+     */
+    void layout(TouchSliderGeometry geometry, TouchSliderStyle style);
+
+    /**
+     * Draws the slider
+     * @param ctx the graphics context of the slider canvas
+     * @param geometry the geometry that was computed by layout()
+     * @param style the resolved style of the slider
+     * @param position the position of the slider (0.0 - 1.0)
+     * @param valueText the formatted value or null if the value is not visible
+     * @param lowFidelity true if the renderer should use cheaper primitives (e.g. while dragging)
+     */
+    void draw(GraphicsContext ctx, TouchSliderGeometry geometry, TouchSliderStyle style, double position, String valueText, boolean lowFidelity);
+}
@@ -0,0 +1,217 @@
+/*
+ * Copyright (c) 2022 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.fx.touchslider;
+
+import javafx.geometry.Orientation;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.WeakHashMap;
+
+
+/**
+ * Immutable, resolved style of a TouchSlider.
+ * Instances are interned, so all sliders that resolve to the same effective
+ * style (e.g. all sliders with the style class .treble-slider) share one object.
+ * Only visual attributes are part of the style, per slider data like the name
+ * is passed to the renderer with the TouchSliderGeometry.
+ */
+public final class TouchSliderStyle {
+    private static final Map<TouchSliderStyle, WeakReference<TouchSliderStyle>> CACHE      = new WeakHashMap<>();
+    private static final int                                                    FONT_SLOTS  = 4;
+    private static final int                                                    ATLAS_SLOTS = 4;
+    private        final Orientation                                            orientation;
+    private        final Color                                                  barBackgroundColor;
+    private        final Color                                                  barColor;
+    private        final Color                                                  thumbColor;
+    private        final Color                                                  valueTextColor;
+    private        final Color                                                  nameTextColor;
+    private        final Color                                                  zeroColor;
+    private        final boolean                                                valueVisible;
+    private        final boolean                                                nameVisible;
+    private        final boolean                                                barBackgroundFilled;
+    private        final boolean                                                showZero;
+    private        final boolean                                                startFromZero;
+    private        final boolean                                                snapToZero;
+    private        final String                                                 formatString;
+    private        final Color                                                  meterColor;
+    private        final Color                                                  meterRangeColor;
+    private        final TextMode                                               textMode;
+    private        final int                                                    hashCode;
+    // Fonts of the last used sizes, replaced round robin, the array is copied on change
+    private        volatile Font[]                                              fonts;
+    private                 int                                                 nextFontSlot;
+    // Character atlases of the last used sizes, orientations and output scales, only used on the FX application thread
+    private        final GlyphAtlas[]                                           atlases;
+    private              int                                                    nextAtlasSlot;
+
+
+    // ******************** Constructors **************************************
+    private TouchSliderStyle(final TouchSlider slider) {
+        orientation         = slider.getOrientation();
+        barBackgroundColor  = slider.getBarBackgroundColor();
+        barColor            = slider.getBarColor();
+        thumbColor          = slider.getThumbColor();
+        valueTextColor      = slider.getValueTextColor();
+        nameTextColor       = slider.getNameTextColor();
+        zeroColor           = slider.getZeroColor();
+        valueVisible        = slider.isValueVisible();
+        nameVisible         = slider.isNameVisible();
+        barBackgroundFilled = slider.getFilledBarBackground();
+        showZero            = slider.getShowZero();
+        startFromZero       = slider.getStartFromZero();
+        snapToZero          = slider.getSnapToZero();
+        formatString        = slider.getFormatString();
+        meterColor          = slider.getMeterColor();
+        meterRangeColor     = null == meterColor ? null : meterColor.deriveColor(0, 1, 1, 0.5);
+        textMode            = slider.getTextMode();
+        fonts               = new Font[0];
+        atlases             = new GlyphAtlas[ATLAS_SLOTS];
+        hashCode            = Objects.hash(orientation, barBackgroundColor, barColor, thumbColor, valueTextColor, nameTextColor, zeroColor, valueVisible,
+                                           nameVisible, barBackgroundFilled, showZero, startFromZero, snapToZero, formatString, meterColor, textMode);
+    }
+
+
+    // ******************** Methods *******************************************
+    /**
+     * Returns the shared style instance that matches the current style of the given slider
+     * @param slider
+     * @return the shared style instance that matches the current style of the given slider
+     */
+    public static TouchSliderStyle of(final TouchSlider slider) {
+        final TouchSliderStyle style = new TouchSliderStyle(slider);
+        synchronized (CACHE) {
+            final WeakReference<TouchSliderStyle> ref    = CACHE.get(style);
+            final TouchSliderStyle                shared = null == ref ? null : ref.get();
+            if (null != shared) { return shared; }
+            CACHE.put(style, new WeakReference<>(style));
+        }
+        return style;
+    }
+
+    public Orientation getOrientation() { return orientation; }
+
+    public Color getBarBackgroundColor() { return barBackgroundColor; }
+
+    public Color getBarColor() { return barColor; }
+
+    public Color getThumbColor() { return thumbColor; }
+
+    public Color getValueTextColor() { return valueTextColor; }
+
+    public Color getNameTextColor() { return nameTextColor; }
+
+    public Color getZeroColor() { return zeroColor; }
+
+    public boolean isValueVisible() { return valueVisible; }
+
+    public boolean isNameVisible() { return nameVisible; }
+
+    public boolean isBarBackgroundFilled() { return barBackgroundFilled; }
+
+    public boolean isShowZero() { return showZero; }
+
+    public boolean isStartFromZero() { return startFromZero; }
+
+    public boolean isSnapToZero() { return snapToZero; }
+
+    public String getFormatString() { return formatString; }
+
+    public Color getMeterColor() { return meterColor; }
+
+    /**
+     * Returns the meter color with reduced opacity, used for the range between the
+     * minimum and the maximum level of a pulse
+     * @return the meter color with reduced opacity
+     */
+    public Color getMeterRangeColor() { return meterRangeColor; }
+
+    public TextMode getTextMode() { return textMode; }
+
+    /**
+     * Returns a font of the given size, the fonts of the last used sizes are cached and shared
+     * between all sliders that use this style (sliders of different sizes share the style)
+     * @param size
+     * @return a font of the given size
+     */
+    public Font getFont(final double size) {
+        final Font[] cached = fonts;
+        for (Font f : cached) {
+            if (Double.compare(f.getSize(), size) == 0) { return f; }
+        }
+        final Font f = Font.font(size);
+        synchronized (this) {
+            final Font[] updated = fonts.length < FONT_SLOTS ? Arrays.copyOf(fonts, fonts.length + 1) : fonts.clone();
+            if (fonts.length < FONT_SLOTS) {
+                updated[fonts.length] = f;
+            } else {
+                updated[nextFontSlot] = f;
+                nextFontSlot          = (nextFontSlot + 1) % FONT_SLOTS;
+            }
+            fonts = updated;
+        }
+        return f;
+    }
+
+    /**
+     * Returns the atlas with the characters of the value text, the atlases of the last used
+     * font sizes, orientations and output scales are shared between all sliders that use this style.
+     * Has to be called on the FX application thread.
+     * @param fontSize
+     * @param horizontal
+     * @param scale the output scale of the window the atlas is drawn in
+     * @return the atlas with the characters of the value text
+     */
+    GlyphAtlas getGlyphAtlas(final double fontSize, final boolean horizontal, final double scale) {
+        for (GlyphAtlas atlas : atlases) {
+            if (null != atlas && atlas.matches(this, fontSize, horizontal, scale, null)) { return atlas; }
+        }
+        final GlyphAtlas atlas = new GlyphAtlas(this, fontSize, horizontal, scale, null);
+        atlases[nextAtlasSlot] = atlas;
+        nextAtlasSlot          = (nextAtlasSlot + 1) % ATLAS_SLOTS;
+        return atlas;
+    }
+
+    @Override public boolean equals(final Object o) {
+        if (this == o) { return true; }
+        if (!(o instanceof TouchSliderStyle)) { return false; }
+        final TouchSliderStyle that = (TouchSliderStyle) o;
+        return hashCode == that.hashCode &&
+               valueVisible == that.valueVisible &&
+               nameVisible == that.nameVisible &&
+               barBackgroundFilled == that.barBackgroundFilled &&
+               showZero == that.showZero &&
+               startFromZero == that.startFromZero &&
+               snapToZero == that.snapToZero &&
+               orientation == that.orientation &&
+               textMode == that.textMode &&
+               Objects.equals(barBackgroundColor, that.barBackgroundColor) &&
+               Objects.equals(barColor, that.barColor) &&
+               Objects.equals(thumbColor, that.thumbColor) &&
+               Objects.equals(valueTextColor, that.valueTextColor) &&
+               Objects.equals(nameTextColor, that.nameTextColor) &&
+               Objects.equals(zeroColor, that.zeroColor) &&
+               Objects.equals(formatString, that.formatString) &&
+               Objects.equals(meterColor, that.meterColor);
+    }
+
+    @Override public int hashCode() { return hashCode; }
+}
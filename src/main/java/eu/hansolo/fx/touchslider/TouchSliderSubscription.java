@@ -0,0 +1,39 @@
+/*
+ * Copyright (c) 2022 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.fx.touchslider;
+
+/**
+ * Handle of an observer that was subscribed to a TouchSlider.
+ * Unsubscribing is O(1) and can be done from any thread, the observer will not be
+ * called by dispatches that start after unsubscribe() returned.
+ */
+public interface TouchSliderSubscription extends AutoCloseable {
+
+    /**
+     * Removes the observer from the slider, calling it more than once has no effect
+     */
+    void unsubscribe();
+
+    /**
+     * Returns false after the subscription was unsubscribed (explicitly, by its scope or
+     * because its weakly referenced observer was collected)
+     * @return true while the observer is subscribed
+     */
+    boolean isActive();
+
+    @Override default void close() { unsubscribe(); }
+}
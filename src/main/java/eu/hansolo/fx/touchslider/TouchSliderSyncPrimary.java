@@ -0,0 +1,246 @@
+/*
+ * Copyright (c) 2022 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.fx.touchslider;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+
+
+/**
+ * Publishes the values of a TouchSliderBank to TouchSliderSyncReplicas over TCP.
+ * A replica that connects receives a binary snapshot of all values, after that the primary
+ * sends deltas (at most about one per pulse) that contain only the indices and values of the sliders
+ * that changed. All socket I/O is non-blocking and done on one daemon thread that sleeps until the
+ * bank signals a change or a replica needs to be served.
+ * A replica that can not keep up skips deltas and is resynchronized with a snapshot.
+ */
+public class TouchSliderSyncPrimary implements AutoCloseable {
+    private static final int                 BUFFERED_FRAMES = 8;
+    private static final long                DELTA_INTERVAL  = 16_000_000L;
+    private final        TouchSliderBank     bank;
+    private final        ServerSocketChannel server;
+    private final        Selector            selector;
+    private final        Runnable            signal;
+    private final        double[]            current;
+    private final        double[]            sent;
+    private final        int[]               deltaIndices;
+    private final        double[]            deltaValues;
+    private final        ByteBuffer          frame;
+    private final        ByteBuffer          discard;
+    private volatile     boolean             changed;
+    private volatile     boolean             running;
+    private volatile     int                 clientCount;
+    private              Thread              thread;
+
+
+    // ******************** Constructors **************************************
+    /**
+     * @param bank the sliders to publish
+     * @param port the port to listen on, 0 picks a free port (see getLocalPort())
+     * @throws IOException
+     */
+    public TouchSliderSyncPrimary(final TouchSliderBank bank, final int port) throws IOException {
+        this(bank, new InetSocketAddress(port));
+    }
+    public TouchSliderSyncPrimary(final TouchSliderBank bank, final InetSocketAddress address) throws IOException {
+        if (bank.size() > SyncProtocol.MAX_SLIDERS) { throw new IllegalArgumentException("Bank too large to synchronize: " + bank.size()); }
+        this.bank         = bank;
+        this.current      = new double[bank.size()];
+        this.sent         = new double[bank.size()];
+        this.deltaIndices = new int[bank.size()];
+        this.deltaValues  = new double[bank.size()];
+        this.frame        = ByteBuffer.allocate(SyncProtocol.maxFrameSize(bank.size()));
+        this.discard      = ByteBuffer.allocate(256);
+        this.selector     = Selector.open();
+        this.server       = ServerSocketChannel.open();
+        this.server.bind(address);
+        this.server.configureBlocking(false);
+        this.server.register(selector, SelectionKey.OP_ACCEPT);
+        this.signal       = () -> {
+            if (changed) { return; }
+            changed = true;
+            selector.wakeup();
+        };
+    }
+
+
+    // ******************** Methods *******************************************
+    /**
+     * Starts listening for replicas and publishing the changes of the bank
+     * @return this primary
+     */
+    public TouchSliderSyncPrimary start() {
+        if (running) { return this; }
+        running = true;
+        bank.read(sent);
+        // Changes between reading the values and adding the listener are sent with the first delta
+        changed = true;
+        thread  = new Thread(this::run, "TouchSlider Sync Primary");
+        thread.setDaemon(true);
+        thread.start();
+        bank.addChangeListener(signal);
+        return this;
+    }
+
+    /**
+     * Returns the port the primary listens on
+     * @return the port the primary listens on
+     */
+    public int getLocalPort() { return server.socket().getLocalPort(); }
+
+    /**
+     * Returns the number of connected replicas
+     * @return the number of connected replicas
+     */
+    public int getClientCount() { return clientCount; }
+
+    @Override public void close() {
+        running = false;
+        bank.removeChangeListener(signal);
+        selector.wakeup();
+        if (null == thread) { closeChannels(); }
+    }
+
+    private void run() {
+        try {
+            long nextDelta = System.nanoTime();
+            while (running) {
+                if (changed) {
+                    // Changes within the interval are sent with the next delta
+                    final long wait = (nextDelta - System.nanoTime() + 999_999) / 1_000_000;
+                    if (wait > 0) { selector.select(wait); } else { selector.selectNow(); }
+                } else {
+                    selector.select();
+                }
+                if (!running) { break; }
+                for (SelectionKey key : selector.selectedKeys()) {
+                    if (!key.isValid()) { continue; }
+                    if (key.isAcceptable()) {
+                        accept();
+                        continue;
+                    }
+                    if (key.isReadable()) { read(key); }
+                    if (key.isValid() && key.isWritable()) { flush(key); }
+                }
+                selector.selectedKeys().clear();
+                if (changed && System.nanoTime() - nextDelta >= 0) {
+                    changed   = false;
+                    nextDelta = System.nanoTime() + DELTA_INTERVAL;
+                    publishDelta();
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            Thread.currentThread().getUncaughtExceptionHandler().uncaughtException(Thread.currentThread(), e);
+        } finally {
+            closeChannels();
+        }
+    }
+
+    private void accept() throws IOException {
+        final SocketChannel channel = server.accept();
+        if (null == channel) { return; }
+        channel.configureBlocking(false);
+        channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        final Client client = new Client(ByteBuffer.allocate(SyncProtocol.maxFrameSize(sent.length) * BUFFERED_FRAMES));
+        // Late joiners start with a snapshot of the values that were sent to all other replicas
+        client.resync = true;
+        channel.register(selector, SelectionKey.OP_READ | SelectionKey.OP_WRITE, client);
+        clientCount++;
+    }
+
+    private void publishDelta() {
+        bank.read(current);
+        int count = 0;
+        for (int i = 0 ; i < current.length ; i++) {
+            if (Double.compare(current[i], sent[i]) == 0) { continue; }
+            sent[i]             = current[i];
+            deltaIndices[count] = i;
+            deltaValues[count]  = current[i];
+            count++;
+        }
+        if (0 == count) { return; }
+        frame.clear();
+        SyncProtocol.putDelta(frame, deltaIndices, deltaValues, count);
+        for (SelectionKey key : selector.keys()) {
+            if (!(key.attachment() instanceof Client client) || !key.isValid()) { continue; }
+            if (client.resync) { continue; }
+            if (client.out.remaining() < frame.position()) {
+                // The replica is too slow, drop its deltas and send a snapshot once its buffer is drained
+                client.resync = true;
+            } else {
+                client.out.put(frame.array(), 0, frame.position());
+            }
+            key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+        }
+    }
+
+    private void flush(final SelectionKey key) {
+        final SocketChannel channel = (SocketChannel) key.channel();
+        final Client        client  = (Client) key.attachment();
+        try {
+            if (client.resync && 0 == client.out.position()) {
+                client.resync = false;
+                SyncProtocol.putSnapshot(client.out, sent, sent.length);
+            }
+            client.out.flip();
+            channel.write(client.out);
+            client.out.compact();
+            if (0 == client.out.position() && !client.resync) { key.interestOps(SelectionKey.OP_READ); }
+        } catch (IOException e) {
+            disconnect(key);
+        }
+    }
+
+    // Replicas do not send anything, reading only detects that a replica disconnected
+    private void read(final SelectionKey key) {
+        try {
+            discard.clear();
+            if (((SocketChannel) key.channel()).read(discard) < 0) { disconnect(key); }
+        } catch (IOException e) {
+            disconnect(key);
+        }
+    }
+
+    private void disconnect(final SelectionKey key) {
+        key.cancel();
+        try { key.channel().close(); } catch (IOException ignored) {}
+        clientCount--;
+    }
+
+    private void closeChannels() {
+        for (SelectionKey key : selector.keys()) {
+            try { key.channel().close(); } catch (IOException ignored) {}
+        }
+        try { selector.close(); } catch (IOException ignored) {}
+        clientCount = 0;
+    }
+
+
+    // ******************** Inner Classes *************************************
+    private static final class Client {
+        private final ByteBuffer out;
+        private       boolean    resync;
+
+        Client(final ByteBuffer out) { this.out = out; }
+    }
+}
@@ -0,0 +1,247 @@
+/*
+ * Copyright (c) 2022 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.fx.touchslider;
+
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyObjectProperty;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+
+
+/**
+ * Mirrors the values of a TouchSliderSyncPrimary into a local TouchSliderBank.
+ * The replica receives a snapshot when it connects and one delta per pulse of the primary,
+ * every frame is applied to the bank as one batched update. All socket I/O is non-blocking
+ * and done on one daemon thread.
+ * If the connection fails or is lost the error is reported to the uncaught exception handler
+ * of that thread and the replica reconnects with an exponential backoff, the primary sends
+ * a new snapshot on every connect.
+ * Local changes of the replica bank are overwritten by the next change of the primary.
+ */
+public class TouchSliderSyncReplica implements AutoCloseable {
+    public enum State { CONNECTING, CONNECTED, DISCONNECTED, CLOSED }
+
+    public  static final long                         MIN_RECONNECT_DELAY = 100;
+    public  static final long                         MAX_RECONNECT_DELAY = 5_000;
+    private final        TouchSliderBank              bank;
+    private final        InetSocketAddress            address;
+    private final        ReadOnlyObjectWrapper<State> stateWrapper;
+    private              ByteBuffer                   in;
+    private              int[]                        indices;
+    private              double[]                     values;
+    private              Selector                     selector;
+    private              SocketChannel                channel;
+    private              Thread                       thread;
+    private volatile     boolean                      running;
+    private volatile     State                        state;
+    private volatile     long                         framesReceived;
+    private volatile     long                         connectCount;
+
+
+    // ******************** Constructors **************************************
+    public TouchSliderSyncReplica(final TouchSliderBank bank, final String host, final int port) {
+        this(bank, new InetSocketAddress(host, port));
+    }
+    public TouchSliderSyncReplica(final TouchSliderBank bank, final InetSocketAddress address) {
+        this.bank         = bank;
+        this.address      = address;
+        this.indices      = new int[bank.size()];
+        this.values       = new double[bank.size()];
+        this.in           = ByteBuffer.allocate(SyncProtocol.maxFrameSize(bank.size()) * 2);
+        this.state        = State.DISCONNECTED;
+        this.stateWrapper = new ReadOnlyObjectWrapper<>(this, "state", State.DISCONNECTED);
+    }
+
+
+    // ******************** Methods *******************************************
+    /**
+     * Connects to the primary and starts applying its values to the bank.
+     * A replica can only be started once.
+     * @return this replica
+     * @throws IOException
+     */
+    public TouchSliderSyncReplica start() throws IOException {
+        if (running) { return this; }
+        if (State.CLOSED == state) { throw new IllegalStateException("Replica is closed"); }
+        selector = Selector.open();
+        running  = true;
+        thread   = new Thread(this::run, "TouchSlider Sync Replica");
+        thread.setDaemon(true);
+        thread.start();
+        return this;
+    }
+
+    /**
+     * Returns true while the replica is connected to the primary
+     * @return true while the replica is connected to the primary
+     */
+    public boolean isConnected() { return State.CONNECTED == state; }
+
+    /**
+     * Returns the connection state, can be called from any thread
+     * @return the connection state
+     */
+    public State getState() { return state; }
+    /**
+     * The connection state, updated on the FX application thread
+     * @return the connection state property
+     */
+    public ReadOnlyObjectProperty<State> stateProperty() { return stateWrapper.getReadOnlyProperty(); }
+
+    /**
+     * Returns the number of snapshots and deltas that were applied to the bank
+     * @return the number of snapshots and deltas that were applied to the bank
+     */
+    public long getFramesReceived() { return framesReceived; }
+
+    /**
+     * Returns the number of successful connects (including reconnects)
+     * @return the number of successful connects
+     */
+    public long getConnectCount() { return connectCount; }
+
+    @Override public void close() {
+        running = false;
+        if (null == selector) {
+            setState(State.CLOSED);
+        } else {
+            selector.wakeup();
+        }
+    }
+
+    private void run() {
+        long delay = MIN_RECONNECT_DELAY;
+        try {
+            while (running) {
+                try {
+                    connect();
+                    receive();
+                } catch (IOException e) {
+                    if (running) { report(e); }
+                } finally {
+                    disconnect();
+                }
+                if (!running) { break; }
+                // A lost connection is retried quickly, failed connects back off
+                if (State.CONNECTED == state) { delay = MIN_RECONNECT_DELAY; }
+                setState(State.DISCONNECTED);
+                // close() wakes up the selector
+                selector.select(delay);
+                selector.selectedKeys().clear();
+                delay = Math.min(delay * 2, MAX_RECONNECT_DELAY);
+            }
+        } catch (IOException | RuntimeException e) {
+            report(e);
+        } finally {
+            disconnect();
+            try { selector.close(); } catch (IOException ignored) {}
+            setState(State.CLOSED);
+        }
+    }
+
+    private void connect() throws IOException {
+        setState(State.CONNECTING);
+        // Partial frames of the previous connection are dropped, the primary starts with a snapshot
+        in.clear();
+        channel = SocketChannel.open();
+        channel.configureBlocking(false);
+        channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        channel.connect(address);
+        channel.register(selector, SelectionKey.OP_CONNECT);
+    }
+
+    private void receive() throws IOException {
+        while (running) {
+            selector.select();
+            for (SelectionKey key : selector.selectedKeys()) {
+                if (key.isConnectable() && channel.finishConnect()) {
+                    connectCount++;
+                    setState(State.CONNECTED);
+                    key.interestOps(SelectionKey.OP_READ);
+                } else if (key.isReadable()) {
+                    if (channel.read(in) < 0) { throw new EOFException("Connection closed by the primary"); }
+                    apply();
+                }
+            }
+            selector.selectedKeys().clear();
+        }
+    }
+
+    private void disconnect() {
+        if (null == channel) { return; }
+        try { channel.close(); } catch (IOException ignored) {}
+        channel = null;
+    }
+
+    private void setState(final State state) {
+        if (this.state == state) { return; }
+        this.state = state;
+        if (Platform.isFxApplicationThread()) {
+            stateWrapper.set(state);
+        } else {
+            Platform.runLater(() -> stateWrapper.set(state));
+        }
+    }
+
+    private void report(final Throwable throwable) {
+        final Thread current = Thread.currentThread();
+        current.getUncaughtExceptionHandler().uncaughtException(current, throwable);
+    }
+
+    // Applies all complete frames of the input buffer, each frame as one batched update of the bank
+    private void apply() {
+        in.flip();
+        while (true) {
+            // The primary may have more sliders than the replica bank
+            final int frameCount = SyncProtocol.peekCount(in);
+            if (frameCount > indices.length) { grow(frameCount); }
+            final int count = SyncProtocol.get(in, indices, values);
+            if (count < 0) { break; }
+            int valid = 0;
+            for (int i = 0 ; i < count ; i++) {
+                // Sliders the replica bank does not have are ignored
+                if (indices[i] >= bank.size()) { continue; }
+                indices[valid] = indices[i];
+                values[valid]  = values[i];
+                valid++;
+            }
+            if (valid > 0) { bank.write(indices, values, valid); }
+            framesReceived++;
+        }
+        in.compact();
+    }
+
+    private void grow(final int frameCount) {
+        final int size = Math.min(frameCount, SyncProtocol.MAX_SLIDERS);
+        indices = new int[size];
+        values  = new double[size];
+        if (in.capacity() < SyncProtocol.maxFrameSize(size) * 2) {
+            final ByteBuffer buffer = ByteBuffer.allocate(SyncProtocol.maxFrameSize(size) * 2);
+            buffer.put(in);
+            buffer.flip();
+            in = buffer;
+        }
+    }
+}
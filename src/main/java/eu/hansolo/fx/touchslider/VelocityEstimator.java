@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2022 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.fx.touchslider;
+
+
+/**
+ * Estimates the velocity of a drag from the most recent input samples.
+ * The samples are kept in a small ring buffer of primitives, the velocity is the least
+ * squares slope of the samples within the sample window, followed by an exponential filter.
+ * Samples that arrive in a burst (e.g. after a stalled pulse) are merged into one sample and
+ * the slope is only computed over a minimum time span, so bursts can not produce huge velocities.
+ * The velocity is limited to MAX_VELOCITY.
+ * Adding samples and estimating the velocity does not allocate.
+ */
+final class VelocityEstimator {
+    // Positions per second, a full drag across the track in 100 ms
+    static final         double   MAX_VELOCITY       = 10;
+    private static final int      CAPACITY           = 8;
+    private static final long     SAMPLE_WINDOW      = 50_000_000L;
+    private static final long     MIN_SAMPLE_SPACING = 2_000_000L;
+    private static final long     MIN_SPAN           = 8_000_000L;
+    private        final long[]   timestamps;
+    private        final double[] positions;
+    private              int      head;
+    private              int      count;
+    private              double   velocity;
+
+
+    // ******************** Constructors **************************************
+    VelocityEstimator() {
+        timestamps = new long[CAPACITY];
+        positions  = new double[CAPACITY];
+    }
+
+
+    // ******************** Methods *******************************************
+    void reset() {
+        head     = 0;
+        count    = 0;
+        velocity = 0;
+    }
+
+    /**
+     * Adds a sample and updates the filtered velocity
+     * @param timestamp the time of the sample in nanoseconds
+     * @param position the position of the slider (0.0 - 1.0)
+     * @param smoothing the weight of the previous velocity (0.0 = no filtering, close to 1.0 = heavy filtering)
+     */
+    void add(final long timestamp, final double position, final double smoothing) {
+        if (count > 0 && timestamp - timestamps[head] < MIN_SAMPLE_SPACING) {
+            // Samples of a burst replace the position of the newest sample
+            positions[head] = position;
+        } else {
+            head             = (head + 1) % CAPACITY;
+            timestamps[head] = timestamp;
+            positions[head]  = position;
+            count            = Math.min(count + 1, CAPACITY);
+        }
+        final double slope = slope(timestamps[head]);
+        // Without enough samples the velocity is kept
+        if (Double.isNaN(slope)) { return; }
+        velocity = smoothing * velocity + (1 - smoothing) * Math.max(-MAX_VELOCITY, Math.min(MAX_VELOCITY, slope));
+    }
+
+    /**
+     * Returns the filtered velocity in positions per second
+     * @return the filtered velocity in positions per second
+     */
+    double getVelocity() { return velocity; }
+
+    // Least squares slope of the samples within the window relative to the newest sample, NaN if they span less than MIN_SPAN
+    private double slope(final long now) {
+        int    n    = 0;
+        double sT   = 0;
+        double sP   = 0;
+        double sTT  = 0;
+        double sTP  = 0;
+        long   span = 0;
+        for (int i = 0 ; i < count ; i++) {
+            final int index = (head - i + CAPACITY) % CAPACITY;
+            final long age  = now - timestamps[index];
+            if (age > SAMPLE_WINDOW) { break; }
+            span = age;
+            final double t = -age / 1e9;
+            final double p = positions[index];
+            sT  += t;
+            sP  += p;
+            sTT += t * t;
+            sTP += t * p;
+            n++;
+        }
+        if (n < 2 || span < MIN_SPAN) { return Double.NaN; }
+        final double denominator = n * sTT - sT * sT;
+        if (denominator <= 0) { return Double.NaN; }
+        return (n * sTP - sT * sP) / denominator;
+    }
+}
@@ -3,6 +3,8 @@ module eu.hansolo.fx.touchslider {
     // Java
     requires java.base;
     requires java.logging;
+    requires java.management;
+    requires jdk.httpserver;
 
     // Java-FX
     requires javafx.base;
@@ -0,0 +1,216 @@
+/*
+ * Copyright (c) 2022 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.fx.touchslider;
+
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+import javafx.event.Event;
+import javafx.event.EventType;
+import javafx.geometry.Point2D;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.scene.input.MouseButton;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.input.TouchEvent;
+import javafx.scene.input.TouchPoint;
+import javafx.scene.layout.StackPane;
+import javafx.scene.text.Text;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BooleanSupplier;
+
+
+/**
+ * Starts the JavaFX toolkit once for all tests (headless with Monocle, see the test task in
+ * build.gradle), runs code on the FX application thread and drives sliders with mouse and touch events.
+ */
+final class FxTestSupport {
+    private static final long    TIMEOUT = 10;
+    private static       boolean started;
+    private static       int     touchEventSetId;
+    private static       Boolean textAvailable;
+
+
+    // ******************** Constructors **************************************
+    private FxTestSupport() {}
+
+
+    // ******************** Methods *******************************************
+    static synchronized void startup() throws InterruptedException {
+        if (started) { return; }
+        final CountDownLatch latch = new CountDownLatch(1);
+        Platform.startup(latch::countDown);
+        Platform.setImplicitExit(false);
+        latch.await(TIMEOUT, TimeUnit.SECONDS);
+        started = true;
+    }
+
+    static <T> T call(final Callable<T> callable) throws Exception {
+        if (Platform.isFxApplicationThread()) { return callable.call(); }
+        final FutureTask<T> task = new FutureTask<>(callable);
+        Platform.runLater(task);
+        try {
+            return task.get(TIMEOUT, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception exception) { throw exception; }
+            throw e;
+        }
+    }
+
+    static void run(final ThrowingRunnable runnable) throws Exception {
+        call(() -> {
+            runnable.run();
+            return null;
+        });
+    }
+
+    /**
+     * Waits until the given number of pulses have been processed by the FX application thread
+     * @param pulses
+     * @throws Exception
+     */
+    static void waitForPulses(final int pulses) throws Exception {
+        final CountDownLatch latch = new CountDownLatch(pulses);
+        run(() -> new AnimationTimer() {
+            @Override public void handle(final long now) {
+                latch.countDown();
+                if (0 == latch.getCount()) { stop(); }
+            }
+        }.start());
+        if (!latch.await(TIMEOUT, TimeUnit.SECONDS)) { throw new TimeoutException("No pulses"); }
+        // Runs everything that was scheduled by the last pulse
+        run(() -> {});
+    }
+
+    /**
+     * Waits until the given condition, that is polled on the calling thread, is true
+     * @param condition
+     * @param message the message of the TimeoutException
+     * @throws Exception
+     */
+    static void waitUntil(final BooleanSupplier condition, final String message) throws Exception {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) { throw new TimeoutException(message); }
+            Thread.sleep(5);
+        }
+    }
+
+    /**
+     * Returns true if text can be laid out, the native font libraries are missing in some headless environments.
+     * Has to be called on the FX application thread.
+     * @return true if text can be laid out
+     */
+    static boolean isTextAvailable() {
+        if (null == textAvailable) {
+            try {
+                new Text("0").getLayoutBounds();
+                textAvailable = true;
+            } catch (LinkageError e) {
+                textAvailable = false;
+            }
+        }
+        return textAvailable;
+    }
+
+    /**
+     * Puts the slider into a scene and lays it out, the value and the name are hidden because
+     * text rendering is not available in every headless environment.
+     * Has to be called on the FX application thread.
+     * @param slider
+     * @return the slider
+     */
+    static TouchSlider layout(final TouchSlider slider) {
+        slider.setValueVisible(false);
+        slider.setNameVisible(false);
+        final StackPane pane = new StackPane(slider);
+        new Scene(pane, slider.getPrefWidth(), slider.getPrefHeight());
+        pane.applyCss();
+        pane.layout();
+        return slider;
+    }
+
+    /**
+     * Fires a mouse event of the primary button at the given position (local coordinates of the slider).
+     * Has to be called on the FX application thread.
+     * @param slider
+     * @param type MOUSE_PRESSED, MOUSE_DRAGGED or MOUSE_RELEASED
+     * @param x
+     * @param y
+     */
+    static void mouse(final TouchSlider slider, final EventType<MouseEvent> type, final double x, final double y) {
+        mouse(slider, type, x, y, MouseButton.PRIMARY, false);
+    }
+    /**
+     * Fires a mouse event at the given position (local coordinates of the slider).
+     * Has to be called on the FX application thread.
+     * @param slider
+     * @param type MOUSE_PRESSED, MOUSE_DRAGGED or MOUSE_RELEASED
+     * @param x
+     * @param y
+     * @param button the button that is pressed or released (and held down while dragging)
+     * @param synthesized true for mouse events that were synthesized from touch events
+     */
+    static void mouse(final TouchSlider slider, final EventType<MouseEvent> type, final double x, final double y, final MouseButton button, final boolean synthesized) {
+        final Node    target     = slider.getChildrenUnmodifiable().get(0);
+        final Point2D scenePoint = target.localToScene(x, y);
+        Event.fireEvent(target, new MouseEvent(type, scenePoint.getX(), scenePoint.getY(), scenePoint.getX(), scenePoint.getY(), button, 1,
+                                               false, false, false, false, MouseButton.PRIMARY == button, false, MouseButton.SECONDARY == button,
+                                               synthesized, false, false, null));
+    }
+
+    /**
+     * Fires a touch event of one touch point at the given position (local coordinates of the slider).
+     * Has to be called on the FX application thread.
+     * @param slider
+     * @param type TOUCH_PRESSED, TOUCH_MOVED or TOUCH_RELEASED
+     * @param id the id of the touch point
+     * @param x
+     * @param y
+     */
+    static void touch(final TouchSlider slider, final EventType<TouchEvent> type, final int id, final double x, final double y) {
+        final Node             target     = slider.getChildrenUnmodifiable().get(0);
+        final Point2D          scenePoint = target.localToScene(x, y);
+        final TouchPoint.State state      = TouchEvent.TOUCH_PRESSED.equals(type) ? TouchPoint.State.PRESSED : TouchEvent.TOUCH_RELEASED.equals(type) ? TouchPoint.State.RELEASED : TouchPoint.State.MOVED;
+        final TouchPoint       point      = new TouchPoint(id, state, scenePoint.getX(), scenePoint.getY(), scenePoint.getX(), scenePoint.getY(), target, null);
+        Event.fireEvent(target, new TouchEvent(type, point, List.of(point), ++touchEventSetId, false, false, false, false));
+    }
+
+    /**
+     * Presses at the first point, drags through the other points and releases at the last point.
+     * Has to be called on the FX application thread.
+     * @param slider
+     * @param points x, y pairs in local coordinates of the slider
+     */
+    static void drag(final TouchSlider slider, final double... points) {
+        mouse(slider, MouseEvent.MOUSE_PRESSED, points[0], points[1]);
+        for (int i = 2 ; i < points.length ; i += 2) { mouse(slider, MouseEvent.MOUSE_DRAGGED, points[i], points[i + 1]); }
+        mouse(slider, MouseEvent.MOUSE_RELEASED, points[points.length - 2], points[points.length - 1]);
+    }
+
+
+    // ******************** Inner Classes *************************************
+    @FunctionalInterface interface ThrowingRunnable {
+        void run() throws Exception;
+    }
+}
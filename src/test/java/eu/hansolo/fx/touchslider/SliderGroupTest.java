@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2022 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.fx.touchslider;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+
+public class SliderGroupTest {
+    private static final double EPSILON = 1e-9;
+
+
+    @BeforeAll static void startup() throws InterruptedException { FxTestSupport.startup(); }
+
+    @Test void onlyTheMovedMemberFiresItsOwnEvent() throws Exception {
+        FxTestSupport.run(() -> {
+            final TouchSlider       a      = slider(0);
+            final TouchSlider       b      = slider(0);
+            final SliderGroup       group  = new SliderGroup();
+            final List<TouchSlider> events = new ArrayList<>();
+            final List<Double>      values = new ArrayList<>();
+            group.add(a);
+            group.add(b);
+            a.addTouchSliderObserver(e -> events.add(a));
+            b.addTouchSliderObserver(e -> events.add(b));
+            group.addSliderGroupObserver(e -> values.add(e.getValue(1)));
+            a.setSliderValue(3);
+            assertEquals(List.of(a), events);
+            assertEquals(List.of(3.0), values);
+            assertEquals(3, b.getSliderValue(), EPSILON);
+        });
+    }
+
+    @Test void followersFireTheirOwnEventsIfEnabled() throws Exception {
+        FxTestSupport.run(() -> {
+            final TouchSlider       a      = slider(0);
+            final TouchSlider       b      = slider(0);
+            final SliderGroup       group  = new SliderGroup();
+            final List<TouchSlider> events = new ArrayList<>();
+            group.add(a);
+            group.add(b);
+            group.setFollowerEvents(true);
+            a.addTouchSliderObserver(e -> events.add(a));
+            b.addTouchSliderObserver(e -> events.add(b));
+            b.setSliderValue(3);
+            assertEquals(List.of(b, a), events);
+        });
+    }
+
+    @Test void relativeOffsetsSurviveClamping() throws Exception {
+        FxTestSupport.run(() -> {
+            final TouchSlider a     = slider(2);
+            final TouchSlider b     = slider(6);
+            final SliderGroup group = new SliderGroup(SliderGroup.Coupling.RELATIVE);
+            group.add(a);
+            group.add(b);
+            group.add(slider(0));
+            a.setSliderValue(8);
+            assertEquals(10, b.getSliderValue(), EPSILON);
+            a.setSliderValue(3);
+            assertEquals(7, b.getSliderValue(), EPSILON);
+        });
+    }
+
+    @Test void absoluteMembersAreAlignedWhenAdded() throws Exception {
+        FxTestSupport.run(() -> {
+            final TouchSlider a     = slider(4);
+            final TouchSlider b     = slider(9);
+            final SliderGroup group = new SliderGroup(SliderGroup.Coupling.ABSOLUTE);
+            group.add(a);
+            group.add(b, -1);
+            assertEquals(3, b.getSliderValue(), EPSILON);
+            b.setSliderValue(5);
+            assertEquals(6, a.getSliderValue(), EPSILON);
+        });
+    }
+
+    private static TouchSlider slider(final double value) {
+        return TouchSliderBuilder.create().minValue(0).range(10).sliderValue(value).build();
+    }
+}
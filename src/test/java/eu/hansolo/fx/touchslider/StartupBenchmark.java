@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2022 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.fx.touchslider;
+
+import javafx.application.Platform;
+import javafx.geometry.Orientation;
+import javafx.scene.Scene;
+import javafx.scene.layout.FlowPane;
+import javafx.scene.paint.Color;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+
+/**
+ * Measures time and allocations for building N sliders with the TouchSliderBuilder
+ * and for their first css and layout pass.
+ * Usage: StartupBenchmark [number of sliders] [number of runs]
+ */
+public class StartupBenchmark {
+    public static void main(String[] args) {
+        final int noOfSliders = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        final int noOfRuns    = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        Platform.startup(() -> {
+            if (!AllocationCounter.isSupported()) { System.out.println("Allocation counting not supported by this JVM"); }
+            for (int run = 1 ; run <= noOfRuns ; run++) { run(run, noOfSliders); }
+            Platform.exit();
+        });
+    }
+
+    private static void run(final int run, final int noOfSliders) {
+        final long              buildStartBytes = AllocationCounter.allocatedBytes();
+        final long              buildStart      = System.nanoTime();
+        final List<TouchSlider> sliders         = new ArrayList<>(noOfSliders);
+        for (int i = 0 ; i < noOfSliders ; i++) {
+            sliders.add(TouchSliderBuilder.create()
+                                          .prefSize(40, 200)
+                                          .name("Ch " + i)
+                                          .orientation(Orientation.VERTICAL)
+                                          .minValue(-50)
+                                          .range(60)
+                                          .sliderValue(0)
+                                          .formatString("%.0f")
+                                          .barColor(Color.rgb(50, 50, 150))
+                                          .showZero(true)
+                                          .build());
+        }
+        final long buildTime  = System.nanoTime() - buildStart;
+        final long buildBytes = AllocationCounter.allocatedBytes() - buildStartBytes;
+
+        final FlowPane pane            = new FlowPane();
+        final Scene    scene           = new Scene(pane, 1920, 1080);
+        final long     layoutStartBytes = AllocationCounter.allocatedBytes();
+        final long     layoutStart      = System.nanoTime();
+        pane.getChildren().setAll(sliders);
+        pane.applyCss();
+        pane.layout();
+        final long layoutTime  = System.nanoTime() - layoutStart;
+        final long layoutBytes = AllocationCounter.allocatedBytes() - layoutStartBytes;
+
+        System.out.println(String.format(Locale.US, "Run %d: %d sliders, build %.1f ms (%d bytes/slider), first css + layout %.1f ms (%d bytes/slider)",
+                                         run, noOfSliders, buildTime / 1e6, buildBytes / noOfSliders, layoutTime / 1e6, layoutBytes / noOfSliders));
+        scene.setRoot(new FlowPane());
+    }
+}
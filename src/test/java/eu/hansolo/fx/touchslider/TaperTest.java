@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2022 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.fx.touchslider;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.function.DoubleUnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+
+public class TaperTest {
+    private static final int STEPS = 10_000;
+
+
+    @Test void positionsSurviveTheRoundTrip() {
+        final Map<String, Taper> tapers = Map.of("exponential(10)", Taper.exponential(10),
+                                                 "exponential(2)", Taper.exponential(2),
+                                                 "logarithmic(10)", Taper.logarithmic(10),
+                                                 "logarithmic(2)", Taper.logarithmic(2),
+                                                 "decibel(-60, 10)", Taper.decibel(-60, 10),
+                                                 "decibel(-100, 0)", Taper.decibel(-100, 0));
+        tapers.forEach((name, taper) -> {
+            for (int i = 0 ; i <= STEPS ; i++) {
+                final double position = (double) i / STEPS;
+                assertEquals(position, taper.toPosition(taper.toValue(position)), 1e-9, name + " at " + position);
+            }
+        });
+    }
+
+    @Test void inverseMatchesTheCurve() {
+        final double curvature = 10;
+        final double scale     = Math.expm1(curvature);
+        // exact inverses of exponential(10) and logarithmic(10)
+        assertInverse(Taper.exponential(curvature), value -> Math.log1p(value * scale) / curvature);
+        assertInverse(Taper.logarithmic(curvature), value -> Math.expm1(value * curvature) / scale);
+        assertEquals(0.2486, Taper.exponential(curvature).toPosition(0.0005), 1e-3);
+    }
+
+    private static void assertInverse(final Taper taper, final DoubleUnaryOperator inverse) {
+        for (int i = 0 ; i <= STEPS ; i++) {
+            final double value = (double) i / STEPS;
+            assertEquals(inverse.applyAsDouble(value), taper.toPosition(value), 1e-3, "at " + value);
+        }
+    }
+}
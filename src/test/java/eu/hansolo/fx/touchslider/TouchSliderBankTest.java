@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2022 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.fx.touchslider;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+
+public class TouchSliderBankTest {
+
+    @BeforeAll static void startup() throws InterruptedException { FxTestSupport.startup(); }
+
+    @Test void sparseWritesOnlyTouchTheWrittenSliders() throws Exception {
+        FxTestSupport.run(() -> {
+            final TouchSlider[]   sliders = sliders(4);
+            final TouchSliderBank bank    = new TouchSliderBank(sliders);
+            final List<Integer>   events  = new ArrayList<>();
+            for (int i = 0 ; i < sliders.length ; i++) {
+                final int index = i;
+                sliders[i].addTouchSliderObserver(e -> events.add(index));
+            }
+            bank.write(new int[] { 3, 1 }, new double[] { 0.75, 0.25 }, 2);
+            assertEquals(List.of(3, 1), events);
+            final double[] values = new double[4];
+            bank.read(values);
+            assertArrayEquals(new double[] { 0, 0.25, 0, 0.75 }, values, 0);
+        });
+    }
+
+    @Test void closedBanksAreDetached() throws Exception {
+        FxTestSupport.run(() -> {
+            final TouchSlider[]   sliders  = sliders(2);
+            final TouchSliderBank bank     = new TouchSliderBank(sliders);
+            sliders[0].setSliderValue(0.5);
+            bank.close();
+            final long sequence = bank.getSequence();
+            sliders[0].setSliderValue(0.75);
+            assertEquals(sequence, bank.getSequence());
+            assertEquals(0.5, bank.getValue(0), 0);
+        });
+    }
+
+    @Test void groupsFollowBankWrites() throws Exception {
+        FxTestSupport.run(() -> {
+            final TouchSlider[]   sliders = sliders(3);
+            final TouchSliderBank bank    = new TouchSliderBank(sliders);
+            final SliderGroup     group   = new SliderGroup(SliderGroup.Coupling.RELATIVE);
+            final List<Double>    events  = new ArrayList<>();
+            sliders[1].setSliderValue(0.5);
+            group.add(sliders[0]);
+            group.add(sliders[1]);
+            group.addSliderGroupObserver(e -> events.add(e.getValue(1)));
+            bank.write(new int[] { 0 }, new double[] { 0.25 }, 1);
+            assertEquals(0.75, sliders[1].getSliderValue(), 0);
+            assertEquals(List.of(0.75), events);
+            // Members that are written in one batch keep their written values
+            bank.write(new double[] { 0.125, 0.5, 0 });
+            assertEquals(0.125, sliders[0].getSliderValue(), 0);
+            assertEquals(0.5, sliders[1].getSliderValue(), 0);
+            assertEquals(List.of(0.75, 0.5), events);
+            // The group continues from the written values
+            sliders[0].setSliderValue(0);
+            assertEquals(0.375, sliders[1].getSliderValue(), 0);
+            final double[] values = new double[3];
+            bank.read(values);
+            assertArrayEquals(new double[] { 0, 0.375, 0 }, values, 0);
+        });
+    }
+
+    private static TouchSlider[] sliders(final int size) {
+        final TouchSlider[] sliders = new TouchSlider[size];
+        for (int i = 0 ; i < size ; i++) { sliders[i] = TouchSliderBuilder.create().minValue(0).range(1).build(); }
+        return sliders;
+    }
+}
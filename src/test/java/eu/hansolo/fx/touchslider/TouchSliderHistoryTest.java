@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2022 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.fx.touchslider;
+
+import javafx.geometry.Orientation;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+public class TouchSliderHistoryTest {
+    private static final double EPSILON = 1e-9;
+
+
+    @BeforeAll static void startup() throws InterruptedException { FxTestSupport.startup(); }
+
+    @Test void dragWithSnapToZeroIsOneStep() throws Exception {
+        FxTestSupport.run(() -> {
+            final TouchSlider slider = FxTestSupport.layout(TouchSliderBuilder.create().prefSize(40, 200).orientation(Orientation.VERTICAL)
+                                                                              .minValue(-50).range(100).sliderValue(-40).snapToZero(true).build());
+            final TouchSliderHistory history = new TouchSliderHistory(new TouchSliderBank(slider));
+            // Drag through several positions and release next to zero, the release snaps to zero
+            FxTestSupport.drag(slider, 20, 180, 20, 150, 20, 120, 20, 101);
+            assertEquals(0, slider.getSliderValue(), EPSILON);
+            assertEquals(1, history.getUndoCount());
+            assertTrue(history.undo());
+            assertEquals(-40, slider.getSliderValue(), EPSILON);
+            assertFalse(history.canUndo());
+            assertTrue(history.redo());
+            assertEquals(0, slider.getSliderValue(), EPSILON);
+        });
+    }
+
+    @Test void changesOfOneRunAreOneStep() throws Exception {
+        final TouchSlider[]        sliders = new TouchSlider[4];
+        final TouchSliderBank[]    bank    = new TouchSliderBank[1];
+        final TouchSliderHistory[] history = new TouchSliderHistory[1];
+        FxTestSupport.run(() -> {
+            for (int i = 0 ; i < sliders.length ; i++) { sliders[i] = TouchSliderBuilder.create().minValue(0).range(10).build(); }
+            bank[0]    = new TouchSliderBank(sliders);
+            history[0] = new TouchSliderHistory(bank[0]);
+            bank[0].write(new double[] { 1, 2, 3, 4 });
+        });
+        FxTestSupport.run(() -> {
+            sliders[0].setSliderValue(5);
+            sliders[0].setSliderValue(6);
+            sliders[3].setSliderValue(7);
+        });
+        FxTestSupport.run(() -> {
+            assertEquals(2, history[0].getUndoCount());
+            history[0].undo();
+            assertArrayEquals(new double[] { 1, 2, 3, 4 }, values(bank[0]), EPSILON);
+            history[0].undo();
+            assertArrayEquals(new double[] { 0, 0, 0, 0 }, values(bank[0]), EPSILON);
+            history[0].redo();
+            history[0].redo();
+            assertArrayEquals(new double[] { 6, 2, 3, 7 }, values(bank[0]), EPSILON);
+        });
+    }
+
+    @Test void newChangeAfterUndoDropsRedo() throws Exception {
+        final TouchSlider[]        slider  = new TouchSlider[1];
+        final TouchSliderHistory[] history = new TouchSliderHistory[1];
+        FxTestSupport.run(() -> {
+            slider[0]  = TouchSliderBuilder.create().minValue(0).range(10).build();
+            history[0] = new TouchSliderHistory(new TouchSliderBank(slider[0]));
+            slider[0].setSliderValue(1);
+        });
+        FxTestSupport.run(() -> slider[0].setSliderValue(2));
+        FxTestSupport.run(() -> {
+            history[0].undo();
+            assertTrue(history[0].canRedo());
+            slider[0].setSliderValue(5);
+        });
+        FxTestSupport.run(() -> {
+            assertFalse(history[0].canRedo());
+            assertEquals(2, history[0].getUndoCount());
+            history[0].undo();
+            assertEquals(1, slider[0].getSliderValue(), EPSILON);
+            history[0].undo();
+            assertEquals(0, slider[0].getSliderValue(), EPSILON);
+        });
+    }
+
+    @Test void oldestStepsAreDroppedWhenTheBudgetIsFull() throws Exception {
+        final TouchSlider[]        slider  = new TouchSlider[1];
+        final TouchSliderHistory[] history = new TouchSliderHistory[1];
+        // The smallest log holds two entries for a bank of one slider
+        FxTestSupport.run(() -> {
+            slider[0]  = TouchSliderBuilder.create().minValue(0).range(10).build();
+            history[0] = new TouchSliderHistory(new TouchSliderBank(slider[0]), 0);
+        });
+        for (int value = 1 ; value <= 5 ; value++) {
+            final int v = value;
+            FxTestSupport.run(() -> slider[0].setSliderValue(v));
+        }
+        FxTestSupport.run(() -> {
+            assertEquals(2, history[0].getUndoCount());
+            while (history[0].undo()) { }
+            // The steps to 1, 2 and 3 have been dropped
+            assertEquals(3, slider[0].getSliderValue(), EPSILON);
+        });
+    }
+
+    private static double[] values(final TouchSliderBank bank) {
+        final double[] values = new double[bank.size()];
+        bank.read(values);
+        return values;
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2022 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.fx.touchslider;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+public class TouchSliderHttpMirrorTest {
+    private final HttpClient          http       = HttpClient.newHttpClient();
+    private final List<AutoCloseable> closeables = new ArrayList<>();
+
+
+    @BeforeAll static void startup() throws InterruptedException { FxTestSupport.startup(); }
+
+    @AfterEach void close() throws Exception {
+        for (AutoCloseable closeable : closeables) { closeable.close(); }
+        closeables.clear();
+    }
+
+    @Test void valuesAndEventsAreServed() throws Exception {
+        final TouchSliderBank       bank   = bank(4);
+        FxTestSupport.run(() -> bank.write(new double[] { 0.25, 0.5, 0.125, 1 }));
+        final TouchSliderHttpMirror mirror = open(new TouchSliderHttpMirror(bank, 0)).start();
+
+        final HttpResponse<String> values = http.send(request(mirror, "/values"), HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, values.statusCode());
+        assertEquals("application/json", values.headers().firstValue("Content-Type").orElse(""));
+        assertEquals("[0.25,0.5,0.125,1.0]", values.body());
+
+        final Stream<String>   lines  = http.send(request(mirror, "/events"), HttpResponse.BodyHandlers.ofLines()).body();
+        closeables.add(lines::close);
+        final Iterator<String> events = lines.iterator();
+        assertEquals("event: snapshot", events.next());
+        assertEquals("data: [0.25,0.5,0.125,1.0]", events.next());
+        assertEquals("", events.next());
+
+        FxTestSupport.run(() -> bank.getSlider(2).setSliderValue(0.75));
+        assertEquals("event: delta", events.next());
+        assertEquals("data: {\"2\":0.75}", events.next());
+        assertEquals("", events.next());
+        FxTestSupport.run(() -> bank.write(new double[] { 0, 0.5, 0.75, 0.375 }));
+        assertEquals("event: delta", events.next());
+        assertEquals("data: {\"0\":0.0,\"3\":0.375}", events.next());
+    }
+
+    @Test void stalledClientsAreResynchronizedWithoutBlockingOthers() throws Exception {
+        final int                   size   = 5_000;
+        final TouchSliderBank       bank   = bank(size);
+        final TouchSliderHttpMirror mirror = open(new TouchSliderHttpMirror(bank, 0)).start();
+
+        // A client that reads the stream and applies it to its own copy of the values
+        final double[]       mirrored = new double[size];
+        final Stream<String> lines    = http.send(request(mirror, "/events"), HttpResponse.BodyHandlers.ofLines()).body();
+        closeables.add(lines::close);
+        final Thread reader = new Thread(() -> lines.filter(line -> line.startsWith("data: ")).forEach(line -> apply(line.substring(6), mirrored)));
+        reader.setDaemon(true);
+        reader.start();
+
+        // A client that stops reading, its small receive buffer is full after a few frames
+        final Socket stalled = new Socket();
+        closeables.add(stalled);
+        stalled.setReceiveBufferSize(4096);
+        stalled.connect(new InetSocketAddress(InetAddress.getLoopbackAddress(), mirror.getLocalPort()));
+        stalled.getOutputStream().write("GET /events HTTP/1.1\r\nHost: localhost\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+        FxTestSupport.waitUntil(() -> 2 == mirror.getClientCount(), "clients not connected");
+
+        for (int round = 1 ; round <= 150 ; round++) {
+            final double[] values = new double[size];
+            for (int i = 0 ; i < size ; i++) { values[i] = ((round * 7 + i) % 100) / 100.0; }
+            FxTestSupport.run(() -> bank.write(values));
+            FxTestSupport.waitForPulses(1);
+        }
+        final double[] expected = new double[size];
+        bank.read(expected);
+        FxTestSupport.waitUntil(() -> Arrays.equals(expected, mirrored), "reading client blocked by the stalled client");
+
+        // The stalled client drains its backlog, its queued deltas were replaced by a snapshot
+        final InputStream           in        = stalled.getInputStream();
+        final ByteArrayOutputStream received  = new ByteArrayOutputStream();
+        final byte[]                buffer    = new byte[65536];
+        final long                  deadline  = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        int                         snapshots = 0;
+        stalled.setSoTimeout(500);
+        while (snapshots < 2 && System.nanoTime() < deadline) {
+            try {
+                final int read = in.read(buffer);
+                if (read < 0) { break; }
+                received.write(buffer, 0, read);
+            } catch (SocketTimeoutException e) {
+                // Nothing received yet
+            }
+            snapshots = count(received.toString(StandardCharsets.US_ASCII), "event: snapshot");
+        }
+        assertTrue(snapshots >= 2, "stalled client received " + snapshots + " snapshots");
+    }
+
+    @Test void eventStreamsAreLimited() throws Exception {
+        final TouchSliderBank       bank   = bank(2);
+        final TouchSliderHttpMirror mirror = open(new TouchSliderHttpMirror(bank, new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 1)).start();
+        final HttpResponse<Stream<String>> first = http.send(request(mirror, "/events"), HttpResponse.BodyHandlers.ofLines());
+        closeables.add(first.body()::close);
+        assertEquals(200, first.statusCode());
+        final HttpResponse<String> second = http.send(request(mirror, "/events"), HttpResponse.BodyHandlers.ofString());
+        assertEquals(503, second.statusCode());
+        // Plain requests are still served
+        assertEquals(200, http.send(request(mirror, "/values"), HttpResponse.BodyHandlers.ofString()).statusCode());
+    }
+
+    @Test void closedMirrorsCanNotBeRestarted() throws Exception {
+        final TouchSliderHttpMirror mirror = new TouchSliderHttpMirror(bank(1), 0).start();
+        mirror.close();
+        assertThrows(IllegalStateException.class, mirror::start);
+    }
+
+    private <T extends AutoCloseable> T open(final T closeable) {
+        closeables.add(closeable);
+        return closeable;
+    }
+
+    private static HttpRequest request(final TouchSliderHttpMirror mirror, final String path) {
+        return HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + mirror.getLocalPort() + path)).build();
+    }
+
+    private static TouchSliderBank bank(final int size) throws Exception {
+        return FxTestSupport.call(() -> {
+            final TouchSlider[] sliders = new TouchSlider[size];
+            for (int i = 0 ; i < size ; i++) { sliders[i] = TouchSliderBuilder.create().minValue(0).range(1).build(); }
+            return new TouchSliderBank(sliders);
+        });
+    }
+
+    // Applies the data of a snapshot ([v0,v1,...]) or a delta ({"i":v,...}) event
+    private static void apply(final String data, final double[] values) {
+        final String[] entries = data.substring(1, data.length() - 1).split(",");
+        for (int i = 0 ; i < entries.length ; i++) {
+            if (data.startsWith("[")) {
+                values[i] = Double.parseDouble(entries[i]);
+            } else {
+                final String[] entry = entries[i].split(":");
+                values[Integer.parseInt(entry[0].replace("\"", ""))] = Double.parseDouble(entry[1]);
+            }
+        }
+    }
+
+    private static int count(final String text, final String pattern) {
+        int count = 0;
+        for (int index = text.indexOf(pattern) ; index >= 0 ; index = text.indexOf(pattern, index + 1)) { count++; }
+        return count;
+    }
+}
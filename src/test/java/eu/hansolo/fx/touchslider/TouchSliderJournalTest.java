@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2022 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.fx.touchslider;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+public class TouchSliderJournalTest {
+    private static final int SIZE = 4;
+
+    @TempDir Path directory;
+
+
+    @BeforeAll static void startup() throws InterruptedException { FxTestSupport.startup(); }
+
+    @Test void valuesAreRecoveredAfterReopen() throws Exception {
+        final TouchSliderBank bank = bank();
+        try (TouchSliderJournal journal = new TouchSliderJournal(bank, directory)) {
+            assertFalse(FxTestSupport.call(journal::recover));
+            journal.start();
+            change(bank, 0, 0.25);
+            change(bank, 1, 0.5);
+            change(bank, 3, 0.75);
+        }
+        assertArrayEquals(new double[] { 0.25, 0.5, 0, 0.75 }, recover(), 0);
+    }
+
+    @Test void tornTailBatchIsIgnored() throws Exception {
+        final TouchSliderBank bank = bank();
+        try (TouchSliderJournal journal = new TouchSliderJournal(bank, directory)) {
+            journal.start();
+            for (int i = 0 ; i < SIZE ; i++) { change(bank, i, 0.125 * (i + 1)); }
+        }
+        // The last batch was only partly written when the process died
+        final Path        path    = directory.resolve("touchslider.journal");
+        final ByteBuffer  log     = ByteBuffer.wrap(Files.readAllBytes(path));
+        final List<int[]> batches = batches(log);
+        assertTrue(batches.size() >= 2, "expected one batch per change");
+        final int[] last = batches.get(batches.size() - 1);
+        log.put(last[0] + last[1] - 2, (byte) ~log.get(last[0] + last[1] - 2));
+        Files.write(path, log.array());
+
+        final double[] expected = { 0.125, 0.25, 0.375, 0.5 };
+        for (int i = 0 ; i < log.getInt(last[0]) ; i++) { expected[log.getInt(last[0] + 4 + i * 12)] = 0; }
+        assertArrayEquals(expected, recover(), 0);
+    }
+
+    @Test void batchesOfAnotherGenerationAreIgnored() throws Exception {
+        final TouchSliderBank bank = bank();
+        try (TouchSliderJournal journal = new TouchSliderJournal(bank, directory)) {
+            journal.start();
+            change(bank, 0, 0.25);
+        }
+        final Path        path       = directory.resolve("touchslider.journal");
+        final ByteBuffer  log        = ByteBuffer.wrap(Files.readAllBytes(path));
+        final long        generation = log.getLong(4);
+        final List<int[]> batches    = batches(log);
+        final int[]       last       = batches.get(batches.size() - 1);
+        final int         end        = last[0] + last[1];
+
+        // A valid batch of the previous generation after the end of the journal
+        putBatch(log, end, generation - 1, 2, 0.5);
+        Files.write(path, log.array());
+        assertArrayEquals(new double[] { 0.25, 0, 0, 0 }, recover(), 0);
+
+        // The same batch of the current generation is replayed
+        putBatch(log, end, generation, 2, 0.5);
+        Files.write(path, log.array());
+        assertArrayEquals(new double[] { 0.25, 0, 0.5, 0 }, recover(), 0);
+    }
+
+    @Test void corruptHeaderIgnoresTheJournal() throws Exception {
+        final TouchSliderBank bank = bank();
+        try (TouchSliderJournal journal = new TouchSliderJournal(bank, directory)) {
+            journal.start();
+            change(bank, 0, 0.25);
+        }
+        final Path       path = directory.resolve("touchslider.journal");
+        final ByteBuffer log  = ByteBuffer.wrap(Files.readAllBytes(path));
+        for (int sliderCount : new int[] { -1, 0, Integer.MAX_VALUE, log.limit() }) {
+            log.putInt(12, sliderCount);
+            Files.write(path, log.array());
+            assertArrayEquals(new double[SIZE], recover(), 0);
+        }
+    }
+
+    @Test void fullJournalRollsOverToACheckpoint() throws Exception {
+        final TouchSliderBank bank = bank();
+        final double[]        expected = new double[SIZE];
+        // The smallest journal holds two batches that change all sliders
+        try (TouchSliderJournal journal = new TouchSliderJournal(bank, directory, 0)) {
+            journal.start();
+            for (int round = 1 ; round <= 10 ; round++) {
+                for (int i = 0 ; i < SIZE ; i++) { expected[i] = ((round + i) % 8) / 8.0; }
+                FxTestSupport.run(() -> bank.write(expected));
+                FxTestSupport.waitForPulses(2);
+            }
+            FxTestSupport.waitUntil(() -> journal.getCheckpointCount() > 2, "no checkpoint when the journal was full");
+        }
+        assertArrayEquals(expected, recover(), 0);
+    }
+
+    private double[] recover() throws Exception {
+        final TouchSliderBank bank = bank();
+        try (TouchSliderJournal journal = new TouchSliderJournal(bank, directory)) {
+            assertTrue(FxTestSupport.call(journal::recover));
+        }
+        final double[] values = new double[SIZE];
+        bank.read(values);
+        return values;
+    }
+
+    private static TouchSliderBank bank() throws Exception {
+        return FxTestSupport.call(() -> {
+            final TouchSlider[] sliders = new TouchSlider[SIZE];
+            for (int i = 0 ; i < SIZE ; i++) { sliders[i] = TouchSliderBuilder.create().minValue(0).range(1).build(); }
+            return new TouchSliderBank(sliders);
+        });
+    }
+
+    // Changes one slider and waits longer than the append interval, so every change is appended as its own batch
+    private static void change(final TouchSliderBank bank, final int index, final double value) throws Exception {
+        FxTestSupport.run(() -> bank.getSlider(index).setSliderValue(value));
+        Thread.sleep(50);
+    }
+
+    // Returns the start and the length of the batches of the journal (count, count x (index, value), crc)
+    private static List<int[]> batches(final ByteBuffer log) {
+        final List<int[]> batches = new ArrayList<>();
+        int position = 16;
+        while (position + 4 <= log.limit()) {
+            final int count = log.getInt(position);
+            if (count <= 0 || count > SIZE) { break; }
+            final int length = 4 + count * 12 + 4;
+            batches.add(new int[] { position, length });
+            position += length;
+        }
+        return batches;
+    }
+
+    private static void putBatch(final ByteBuffer log, final int position, final long generation, final int index, final double value) {
+        final ByteBuffer batch = ByteBuffer.allocate(16);
+        batch.putInt(1).putInt(index).putDouble(value);
+        final CRC32 crc = new CRC32();
+        crc.update(ByteBuffer.allocate(8).putLong(generation).array());
+        crc.update(batch.array());
+        log.put(position, batch.array());
+        log.putInt(position + 16, (int) crc.getValue());
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2022 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.fx.touchslider;
+
+import javafx.scene.Scene;
+import javafx.scene.layout.StackPane;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+
+public class TouchSliderMeterTest {
+    private static final long   SECOND = 1_000_000_000L;
+    private static final double DELTA  = 1e-9;
+
+
+    @BeforeAll static void startup() throws InterruptedException { FxTestSupport.startup(); }
+
+    @Test void levelsBetweenTwoPulsesAreDecimated() throws Exception {
+        // The slider is not in a scene, so only the pulses of the test reach its meter
+        final TouchSlider slider = TouchSliderBuilder.create().build();
+        final Thread[]    threads = new Thread[4];
+        for (int t = 0 ; t < threads.length ; t++) {
+            final int offset = t;
+            threads[t] = new Thread(() -> { for (int i = 0 ; i < 1000 ; i++) { slider.updateMeter(((i + offset) % 100) / 200.0); } });
+            threads[t].start();
+        }
+        for (Thread thread : threads) { thread.join(); }
+        FxTestSupport.run(() -> {
+            slider.pulseMeter(SECOND);
+            assertEquals(0.495, slider.getMeterLevel(), DELTA);
+            assertEquals(0.495, slider.getMeterPeak(), DELTA);
+            // Nothing was added since the last pulse, the level only decays
+            slider.pulseMeter(SECOND + SECOND / 10);
+            assertEquals(0.495 - slider.getMeterDecayRate() / 10, slider.getMeterLevel(), DELTA);
+        });
+    }
+
+    @Test void peakIsHeldBeforeItDecays() throws Exception {
+        FxTestSupport.run(() -> {
+            final TouchSlider slider = TouchSliderBuilder.create().build();
+            slider.setMeterDecayRate(0.1);
+            slider.setMeterPeakHoldTime(1000);
+            slider.updateMeter(0.8);
+            slider.pulseMeter(SECOND);
+            assertEquals(0.8, slider.getMeterPeak(), DELTA);
+
+            slider.pulseMeter(SECOND + SECOND / 2);
+            assertEquals(0.75, slider.getMeterLevel(), DELTA);
+            assertEquals(0.8, slider.getMeterPeak(), DELTA);
+
+            // The hold time is over, the peak decays but never drops below the level
+            slider.pulseMeter(SECOND * 5 / 2);
+            assertEquals(0.65, slider.getMeterLevel(), DELTA);
+            assertEquals(0.7, slider.getMeterPeak(), DELTA);
+            slider.pulseMeter(SECOND * 7 / 2);
+            assertEquals(0.55, slider.getMeterLevel(), DELTA);
+            assertEquals(0.6, slider.getMeterPeak(), DELTA);
+
+            // A new maximum restarts the hold time
+            slider.updateMeter(0.9);
+            slider.pulseMeter(SECOND * 4);
+            slider.pulseMeter(SECOND * 9 / 2);
+            assertEquals(0.9, slider.getMeterPeak(), DELTA);
+        });
+    }
+
+    @Test void visibleMetersInASceneAreRegisteredOnce() throws Exception {
+        FxTestSupport.run(() -> {
+            final int           before  = MeterPulse.getNumberOfMeters();
+            final TouchSlider[] sliders = new TouchSlider[3];
+            final StackPane     pane    = new StackPane();
+            for (int i = 0 ; i < sliders.length ; i++) {
+                sliders[i] = TouchSliderBuilder.create().build();
+                sliders[i].setMeterVisible(true);
+                pane.getChildren().add(sliders[i]);
+            }
+            new Scene(pane);
+            assertEquals(before + 3, MeterPulse.getNumberOfMeters());
+            MeterPulse.register(sliders[1]);
+            assertEquals(before + 3, MeterPulse.getNumberOfMeters());
+
+            // Removing one meter moves the last one into its place
+            sliders[0].setMeterVisible(false);
+            sliders[0].setMeterVisible(true);
+            sliders[1].setMeterVisible(false);
+            assertEquals(before + 2, MeterPulse.getNumberOfMeters());
+            pane.getChildren().clear();
+            assertEquals(before, MeterPulse.getNumberOfMeters());
+            for (TouchSlider slider : sliders) { assertEquals(-1, slider.meterPulseIndex); }
+        });
+    }
+}
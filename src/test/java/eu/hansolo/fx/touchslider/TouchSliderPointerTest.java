@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2022 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.fx.touchslider;
+
+import eu.hansolo.fx.touchslider.TouchSliderEvent.Origin;
+import eu.hansolo.fx.touchslider.TouchSliderEvent.Phase;
+import javafx.scene.input.MouseButton;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.input.TouchEvent;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+
+public class TouchSliderPointerTest {
+    private static final double EPSILON = 1e-9;
+
+
+    @BeforeAll static void startup() throws InterruptedException { FxTestSupport.startup(); }
+
+    @Test void pressUpdatesTheValue() throws Exception {
+        FxTestSupport.run(() -> {
+            final TouchSlider            slider = slider();
+            final List<TouchSliderEvent> events = events(slider);
+            FxTestSupport.mouse(slider, MouseEvent.MOUSE_PRESSED, 50, 20);
+            assertEquals(0.25, slider.getSliderValue(), EPSILON);
+            assertEquals(1, events.size());
+            assertEquals(Phase.START, events.get(0).getPhase());
+            assertEquals(Origin.MOUSE, events.get(0).getOrigin());
+            assertEquals(0.25, events.get(0).getValue(), EPSILON);
+        });
+    }
+
+    @Test void everyInputEventUpdatesTheValueOnce() throws Exception {
+        FxTestSupport.run(() -> {
+            final TouchSlider            slider  = slider();
+            final List<TouchSliderEvent> events  = events(slider);
+            final int[]                  updates = new int[1];
+            slider.valueProperty().addListener(o -> updates[0]++);
+            FxTestSupport.drag(slider, 20, 20, 60, 20, 100, 20, 140, 20);
+            assertEquals(4, updates[0]);
+            assertEquals(List.of(Phase.START, Phase.MOVE, Phase.MOVE, Phase.MOVE, Phase.END), events.stream().map(TouchSliderEvent::getPhase).toList());
+            assertEquals(0.7, slider.getSliderValue(), EPSILON);
+        });
+    }
+
+    @Test void synthesizedMouseEventsAreDroppedAfterTouch() throws Exception {
+        FxTestSupport.run(() -> {
+            final TouchSlider            slider = slider();
+            final List<TouchSliderEvent> events = events(slider);
+            FxTestSupport.touch(slider, TouchEvent.TOUCH_PRESSED, 1, 40, 20);
+            FxTestSupport.mouse(slider, MouseEvent.MOUSE_PRESSED, 40, 20, MouseButton.PRIMARY, true);
+            FxTestSupport.touch(slider, TouchEvent.TOUCH_MOVED, 1, 80, 20);
+            FxTestSupport.mouse(slider, MouseEvent.MOUSE_DRAGGED, 120, 20, MouseButton.PRIMARY, true);
+            FxTestSupport.touch(slider, TouchEvent.TOUCH_RELEASED, 1, 80, 20);
+            FxTestSupport.mouse(slider, MouseEvent.MOUSE_RELEASED, 120, 20, MouseButton.PRIMARY, true);
+            assertEquals(0.4, slider.getSliderValue(), EPSILON);
+            assertEquals(List.of(Phase.START, Phase.MOVE, Phase.END), events.stream().map(TouchSliderEvent::getPhase).toList());
+            assertEquals(List.of(Origin.TOUCH, Origin.TOUCH, Origin.TOUCH), events.stream().map(TouchSliderEvent::getOrigin).toList());
+        });
+    }
+
+    @Test void secondPointerIsIgnored() throws Exception {
+        FxTestSupport.run(() -> {
+            final TouchSlider            slider = slider();
+            final List<TouchSliderEvent> events = events(slider);
+            FxTestSupport.touch(slider, TouchEvent.TOUCH_PRESSED, 1, 40, 20);
+            FxTestSupport.touch(slider, TouchEvent.TOUCH_PRESSED, 2, 160, 20);
+            FxTestSupport.mouse(slider, MouseEvent.MOUSE_PRESSED, 160, 20);
+            FxTestSupport.touch(slider, TouchEvent.TOUCH_MOVED, 2, 180, 20);
+            assertEquals(0.2, slider.getSliderValue(), EPSILON);
+            FxTestSupport.touch(slider, TouchEvent.TOUCH_MOVED, 1, 60, 20);
+            FxTestSupport.touch(slider, TouchEvent.TOUCH_RELEASED, 2, 180, 20);
+            assertEquals(0.3, slider.getSliderValue(), EPSILON);
+            FxTestSupport.touch(slider, TouchEvent.TOUCH_RELEASED, 1, 60, 20);
+            assertEquals(List.of(Phase.START, Phase.MOVE, Phase.END), events.stream().map(TouchSliderEvent::getPhase).toList());
+        });
+    }
+
+    @Test void onlyThePrimaryButtonMovesTheSlider() throws Exception {
+        FxTestSupport.run(() -> {
+            final TouchSlider            slider = slider();
+            final List<TouchSliderEvent> events = events(slider);
+            FxTestSupport.mouse(slider, MouseEvent.MOUSE_PRESSED, 100, 20, MouseButton.SECONDARY, false);
+            FxTestSupport.mouse(slider, MouseEvent.MOUSE_DRAGGED, 120, 20, MouseButton.SECONDARY, false);
+            FxTestSupport.mouse(slider, MouseEvent.MOUSE_RELEASED, 120, 20, MouseButton.SECONDARY, false);
+            assertEquals(0, slider.getSliderValue(), EPSILON);
+            assertEquals(0, events.size());
+            assertFalse(slider.isGestureActive());
+        });
+    }
+
+    // A horizontal slider with a track of 200 pixels and the values 0 - 1
+    private static TouchSlider slider() {
+        return FxTestSupport.layout(TouchSliderBuilder.create().prefSize(200, 40).minValue(0).range(1).build());
+    }
+
+    private static List<TouchSliderEvent> events(final TouchSlider slider) {
+        final List<TouchSliderEvent> events = new ArrayList<>();
+        slider.addTouchSliderObserver(events::add);
+        return events;
+    }
+}
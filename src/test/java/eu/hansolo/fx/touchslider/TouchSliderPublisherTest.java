@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2022 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.fx.touchslider;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Flow;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+public class TouchSliderPublisherTest {
+
+    @BeforeAll static void startup() throws InterruptedException { FxTestSupport.startup(); }
+
+    @Test void eventsFollowTheDemand() throws Exception {
+        FxTestSupport.run(() -> {
+            final TouchSlider          slider     = slider();
+            final TouchSliderPublisher publisher  = new TouchSliderPublisher(Runnable::run, slider);
+            final Recorder             subscriber = new Recorder();
+            publisher.subscribe(subscriber);
+            subscriber.subscription.request(2);
+            slider.setSliderValue(0.125);
+            slider.setSliderValue(0.25);
+            slider.setSliderValue(0.375);
+            assertEquals(List.of(0.125, 0.25), subscriber.values);
+            subscriber.subscription.request(1);
+            assertEquals(List.of(0.125, 0.25, 0.375), subscriber.values);
+        });
+    }
+
+    @Test void updatesAreConflatedWithoutDemand() throws Exception {
+        FxTestSupport.run(() -> {
+            final TouchSlider          a          = slider();
+            final TouchSlider          b          = slider();
+            final TouchSliderPublisher publisher  = new TouchSliderPublisher(Runnable::run, a, b);
+            final Recorder             subscriber = new Recorder();
+            final Recorder             other      = new Recorder();
+            publisher.subscribe(subscriber);
+            publisher.subscribe(other);
+            other.subscription.request(Long.MAX_VALUE);
+            b.setSliderValue(0.125);
+            a.setSliderValue(0.25);
+            b.setSliderValue(0.5);
+            a.setSliderValue(0.75);
+            assertTrue(subscriber.values.isEmpty());
+            assertEquals(List.of(0.125, 0.25, 0.5, 0.75), other.values);
+            // Only the latest event of every slider is delivered, in the order the sliders changed first
+            subscriber.subscription.request(10);
+            assertEquals(List.of(0.5, 0.75), subscriber.values);
+        });
+    }
+
+    @Test void cancelledSubscribersReceiveNothing() throws Exception {
+        FxTestSupport.run(() -> {
+            final TouchSlider          slider     = slider();
+            final TouchSliderPublisher publisher  = new TouchSliderPublisher(Runnable::run, slider);
+            final Recorder             subscriber = new Recorder();
+            publisher.subscribe(subscriber);
+            subscriber.subscription.request(Long.MAX_VALUE);
+            slider.setSliderValue(0.25);
+            subscriber.subscription.cancel();
+            slider.setSliderValue(0.5);
+            assertEquals(List.of(0.25), subscriber.values);
+            assertEquals(0, publisher.getNumberOfSubscribers());
+        });
+    }
+
+    @Test void invalidRequestsAndCloseAreSignalled() throws Exception {
+        FxTestSupport.run(() -> {
+            final TouchSlider          slider    = slider();
+            final TouchSliderPublisher publisher = new TouchSliderPublisher(Runnable::run, slider);
+            final Recorder             invalid   = new Recorder();
+            final Recorder             completed = new Recorder();
+            publisher.subscribe(invalid);
+            publisher.subscribe(completed);
+            invalid.subscription.request(0);
+            assertInstanceOf(IllegalArgumentException.class, invalid.error);
+            publisher.close();
+            assertTrue(completed.completed);
+            assertEquals(0, slider.getSubscriptionCount());
+        });
+    }
+
+    private static TouchSlider slider() { return TouchSliderBuilder.create().minValue(0).range(1).build(); }
+
+
+    // ******************** Inner Classes *************************************
+    private static final class Recorder implements Flow.Subscriber<TouchSliderEvent> {
+        private final List<Double>      values = new ArrayList<>();
+        private       Flow.Subscription subscription;
+        private       Throwable         error;
+        private       boolean           completed;
+
+
+        @Override public void onSubscribe(final Flow.Subscription subscription) { this.subscription = subscription; }
+        @Override public void onNext(final TouchSliderEvent evt) { values.add(evt.getValue()); }
+        @Override public void onError(final Throwable error) { this.error = error; }
+        @Override public void onComplete() { completed = true; }
+    }
+}
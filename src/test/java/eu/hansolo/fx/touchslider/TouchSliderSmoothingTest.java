@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2022 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.fx.touchslider;
+
+import eu.hansolo.fx.touchslider.TouchSliderEvent.Phase;
+import javafx.application.Platform;
+import javafx.geometry.Orientation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+public class TouchSliderSmoothingTest {
+
+    @BeforeAll static void startup() throws InterruptedException { FxTestSupport.startup(); }
+
+    @AfterEach void resetControlRate() { TouchSlider.setSmoothingControlRate(SmoothingScheduler.DEFAULT_CONTROL_RATE); }
+
+    @Test void smoothedEventsAreDeliveredInOrderOnTheFxThread() throws Exception {
+        for (Smoothing smoothing : new Smoothing[] { Smoothing.ONE_POLE, Smoothing.SLEW_RATE, Smoothing.CRITICALLY_DAMPED }) {
+            final List<TouchSliderEvent> events    = new ArrayList<>();
+            final AtomicBoolean          offThread = new AtomicBoolean();
+            final CountDownLatch         ended     = new CountDownLatch(1);
+            final TouchSlider            slider    = FxTestSupport.call(() -> {
+                final TouchSlider s = FxTestSupport.layout(TouchSliderBuilder.create().prefSize(40, 200).orientation(Orientation.VERTICAL)
+                                                                             .minValue(0).range(100).smoothing(smoothing).smoothingTime(300).build());
+                s.addTouchSliderObserver(e -> {
+                    if (!Platform.isFxApplicationThread()) { offThread.set(true); }
+                    events.add(e);
+                    if (Phase.END == e.getPhase()) { ended.countDown(); }
+                });
+                FxTestSupport.drag(s, 20, 190, 20, 150, 20, 100, 20, 20);
+                return s;
+            });
+            assertTrue(ended.await(5, TimeUnit.SECONDS), smoothing + ": no END event");
+            // Events that would follow the END event
+            FxTestSupport.waitForPulses(10);
+
+            final List<TouchSliderEvent> received = FxTestSupport.call(() -> new ArrayList<>(events));
+            assertFalse(offThread.get(), smoothing + ": event delivered off the FX application thread");
+            assertEquals(Phase.START, received.get(0).getPhase(), smoothing.name());
+            assertEquals(Phase.END, received.get(received.size() - 1).getPhase(), smoothing.name());
+            assertEquals(1, received.stream().filter(e -> Phase.END == e.getPhase()).count(), smoothing.name());
+            assertTrue(received.size() > 3, smoothing + ": expected smoothed MOVE events " + received.stream().map(e -> e.getPhase() + "@" + e.getValue()).toList());
+            for (int i = 1 ; i < received.size() ; i++) {
+                assertTrue(received.get(i).getSequence() > received.get(i - 1).getSequence(), smoothing + ": sequence not increasing");
+            }
+            assertEquals(FxTestSupport.call(slider::getSliderValue), received.get(received.size() - 1).getValue(), 1e-9, smoothing.name());
+        }
+    }
+
+    @Test void controlRateIsConfigurable() throws Exception {
+        TouchSlider.setSmoothingControlRate(100);
+        assertEquals(100, TouchSlider.getSmoothingControlRate());
+        assertThrows(IllegalArgumentException.class, () -> TouchSlider.setSmoothingControlRate(0));
+        assertThrows(IllegalArgumentException.class, () -> TouchSlider.setSmoothingControlRate(Double.NaN));
+
+        final CountDownLatch ended  = new CountDownLatch(1);
+        final int[]          moves  = new int[1];
+        FxTestSupport.run(() -> {
+            final TouchSlider s = FxTestSupport.layout(TouchSliderBuilder.create().prefSize(40, 200).orientation(Orientation.VERTICAL)
+                                                                         .minValue(0).range(100).smoothing(Smoothing.SLEW_RATE).smoothingTime(200).build());
+            s.addTouchSliderObserver(e -> {
+                if (Phase.MOVE == e.getPhase()) { moves[0]++; }
+                if (Phase.END == e.getPhase()) { ended.countDown(); }
+            });
+            FxTestSupport.drag(s, 20, 190, 20, 10);
+        });
+        assertTrue(ended.await(5, TimeUnit.SECONDS));
+        // 200 ms ramp at 100 Hz, at most one MOVE event per control tick
+        final int delivered = FxTestSupport.call(() -> moves[0]);
+        assertTrue(delivered > 0 && delivered <= 25, "MOVE events: " + delivered);
+    }
+}
@@ -0,0 +1,225 @@
+/*
+ * Copyright (c) 2022 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.fx.touchslider;
+
+import javafx.animation.AnimationTimer;
+import javafx.application.ConditionalFeature;
+import javafx.application.Platform;
+import javafx.event.Event;
+import javafx.event.EventType;
+import javafx.geometry.Orientation;
+import javafx.geometry.Point2D;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.scene.input.MouseButton;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.input.TouchEvent;
+import javafx.scene.input.TouchPoint;
+import javafx.scene.layout.FlowPane;
+import javafx.stage.Stage;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+/**
+ * Headless stress test that feeds synthetic drag sequences into 1 - 1000 sliders and
+ * records redraws, events, FX thread time per pulse and allocated bytes per input event.
+ * The counts and the allocated bytes are compared to stress-baseline.properties and the test fails
+ * if one of them exceeds the baseline (plus tolerance). Pulse times depend on the machine, they are
+ * only printed and are not part of the baseline.
+ *
+ * System properties: -Dstress.sliders=1,10,100,1000 -Dstress.pulses=60 -Dstress.eventsPerPulse=4
+ * -Dstress.baseline=stress-baseline.properties -Dstress.updateBaseline=true (writes the baseline instead of comparing)
+ */
+public class TouchSliderStressTest {
+    private static final double BYTES_TOLERANCE = 0.25;
+    private static final double COUNT_TOLERANCE = 0.0;
+
+
+    @BeforeAll static void startup() throws InterruptedException { FxTestSupport.startup(); }
+
+    @Test void metricsWithinBaseline() throws Exception {
+        final Path    baseline       = Path.of(System.getProperty("stress.baseline", "stress-baseline.properties"));
+        final boolean updateBaseline = Boolean.getBoolean("stress.updateBaseline");
+        final int[]   sliderCounts   = Arrays.stream(System.getProperty("stress.sliders", "1,10,100,1000").split(",")).mapToInt(Integer::parseInt).toArray();
+        final int     pulses         = Integer.getInteger("stress.pulses", 60);
+        final int     eventsPerPulse = Integer.getInteger("stress.eventsPerPulse", 4);
+
+        final Map<String, Double> results = new TreeMap<>();
+        // warm up, the results of the warm up run are dropped
+        run(sliderCounts[sliderCounts.length - 1], pulses, eventsPerPulse, new TreeMap<>());
+        for (int noOfSliders : sliderCounts) { run(noOfSliders, pulses, eventsPerPulse, results); }
+
+        if (updateBaseline || !Files.exists(baseline)) {
+            writeBaseline(baseline, results);
+            System.out.println("Baseline written to " + baseline.toAbsolutePath());
+        } else {
+            assertTrue(compare(readBaseline(baseline), results), "Performance regression detected");
+        }
+    }
+
+    private static void run(final int noOfSliders, final int pulses, final int eventsPerPulse, final Map<String, Double> results) throws InterruptedException {
+        final CountDownLatch done = new CountDownLatch(1);
+        Platform.runLater(() -> {
+            final List<TouchSlider> sliders  = new ArrayList<>(noOfSliders);
+            final CountingRenderer  renderer = new CountingRenderer();
+            final long[]            events   = new long[1];
+            for (int i = 0 ; i < noOfSliders ; i++) {
+                final TouchSlider slider = TouchSliderBuilder.create()
+                                                             .prefSize(40, 200)
+                                                             .orientation(Orientation.VERTICAL)
+                                                             .minValue(-50)
+                                                             .range(100)
+                                                             .name("Ch " + i)
+                                                             .renderer(renderer)
+                                                             .build();
+                slider.addTouchSliderObserver(e -> events[0]++);
+                sliders.add(slider);
+            }
+            final Stage stage = new Stage();
+            stage.setScene(new Scene(new FlowPane(sliders.toArray(new Node[0])), 1920, 1080));
+            stage.show();
+            stage.getScene().getRoot().applyCss();
+            stage.getScene().getRoot().layout();
+
+            final boolean touch     = Platform.isSupported(ConditionalFeature.INPUT_MULTITOUCH);
+            final long[]  pulseTime = new long[pulses];
+            new AnimationTimer() {
+                private int  pulse;
+                private long redrawsAtStart;
+                private long eventsAtStart;
+                private long bytesAtStart;
+                private long inputs;
+
+                @Override public void handle(final long now) {
+                    if (0 == pulse) {
+                        redrawsAtStart = renderer.getDrawCount();
+                        eventsAtStart  = events[0];
+                        bytesAtStart   = AllocationCounter.allocatedBytes();
+                    }
+                    final long start = System.nanoTime();
+                    for (TouchSlider slider : sliders) {
+                        final Node target = slider.getChildrenUnmodifiable().get(0);
+                        if (0 == pulse) { fire(target, touch, Phase.PRESSED, 20, 100); inputs++; }
+                        for (int e = 0 ; e < eventsPerPulse ; e++) {
+                            final double y = 100 + 90 * Math.sin((pulse * eventsPerPulse + e) * 0.05);
+                            fire(target, touch, Phase.DRAGGED, 20, y);
+                            inputs++;
+                        }
+                        if (pulses - 1 == pulse) { fire(target, touch, Phase.RELEASED, 20, 100); inputs++; }
+                    }
+                    pulseTime[pulse] = System.nanoTime() - start;
+                    pulse++;
+                    if (pulse == pulses) {
+                        stop();
+                        final long bytes   = AllocationCounter.allocatedBytes() - bytesAtStart;
+                        final long redraws = renderer.getDrawCount() - redrawsAtStart;
+                        final long fired   = events[0] - eventsAtStart;
+                        Arrays.sort(pulseTime);
+                        final String prefix = noOfSliders + ".";
+                        results.put(prefix + "redrawsPerInput", (double) redraws / inputs);
+                        results.put(prefix + "eventsPerInput", (double) fired / inputs);
+                        if (bytes >= 0) { results.put(prefix + "bytesPerInput", (double) bytes / inputs); }
+                        System.out.println(String.format(Locale.US, "%4d sliders: %d inputs, %.2f redraws/input, %.2f events/input, pulse median %.2f ms, p99 %.2f ms, %s bytes/input",
+                                                         noOfSliders, inputs, (double) redraws / inputs, (double) fired / inputs, pulseTime[pulses / 2] / 1e6,
+                                                         pulseTime[Math.min(pulses - 1, (int) (pulses * 0.99))] / 1e6, bytes >= 0 ? Long.toString(bytes / inputs) : "n/a"));
+                        stage.close();
+                        done.countDown();
+                    }
+                }
+            }.start();
+        });
+        assertTrue(done.await(5, TimeUnit.MINUTES), "Stress run with " + noOfSliders + " sliders did not finish");
+    }
+
+    private enum Phase { PRESSED, DRAGGED, RELEASED }
+
+    private static void fire(final Node target, final boolean touch, final Phase phase, final double x, final double y) {
+        // Events take scene coordinates and are converted to the local coordinates of the target on dispatch
+        final Point2D scenePoint = target.localToScene(x, y);
+        final double  sceneX     = scenePoint.getX();
+        final double  sceneY     = scenePoint.getY();
+        if (touch) {
+            final EventType<TouchEvent> type;
+            final TouchPoint.State      state;
+            switch (phase) {
+                case PRESSED  -> { type = TouchEvent.TOUCH_PRESSED;  state = TouchPoint.State.PRESSED; }
+                case RELEASED -> { type = TouchEvent.TOUCH_RELEASED; state = TouchPoint.State.RELEASED; }
+                default       -> { type = TouchEvent.TOUCH_MOVED;    state = TouchPoint.State.MOVED; }
+            }
+            final TouchPoint point = new TouchPoint(1, state, sceneX, sceneY, sceneX, sceneY, target, null);
+            Event.fireEvent(target, new TouchEvent(target, target, type, point, List.of(point), 1, false, false, false, false));
+        } else {
+            final EventType<MouseEvent> type = switch (phase) {
+                case PRESSED  -> MouseEvent.MOUSE_PRESSED;
+                case RELEASED -> MouseEvent.MOUSE_RELEASED;
+                default       -> MouseEvent.MOUSE_DRAGGED;
+            };
+            Event.fireEvent(target, new MouseEvent(type, sceneX, sceneY, sceneX, sceneY, MouseButton.PRIMARY, 1, false, false, false, false, true, false, false, false, false, false, null));
+        }
+    }
+
+    private static boolean compare(final Properties baseline, final Map<String, Double> results) {
+        boolean passed = true;
+        for (Map.Entry<String, Double> entry : results.entrySet()) {
+            final String key   = entry.getKey();
+            final String value = baseline.getProperty(key);
+            if (null == value) { continue; }
+            final double tolerance = key.contains("bytes") ? BYTES_TOLERANCE : COUNT_TOLERANCE;
+            final double limit     = Double.parseDouble(value) * (1 + tolerance) + 1e-9;
+            if (entry.getValue() > limit) {
+                System.out.println(String.format(Locale.US, "FAILED %s: %.3f exceeds baseline %s (limit %.3f)", key, entry.getValue(), value, limit));
+                passed = false;
+            }
+        }
+        System.out.println(passed ? "All metrics within baseline" : "Performance regression detected");
+        return passed;
+    }
+
+    private static Properties readBaseline(final Path baseline) throws IOException {
+        final Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(baseline)) { properties.load(reader); }
+        return properties;
+    }
+
+    private static void writeBaseline(final Path baseline, final Map<String, Double> results) throws IOException {
+        // written sorted (instead of Properties.store()) to keep the diffs of the baseline file readable
+        try (Writer writer = Files.newBufferedWriter(baseline)) {
+            writer.write("# TouchSlider stress baseline, regenerate with -Dstress.updateBaseline=true\n");
+            for (Map.Entry<String, Double> entry : results.entrySet()) {
+                writer.write(String.format(Locale.US, "%s=%.3f%n", entry.getKey(), entry.getValue()));
+            }
+        }
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2022 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.fx.touchslider;
+
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+
+public class TouchSliderStyleTest {
+
+    @BeforeAll static void startup() throws InterruptedException { FxTestSupport.startup(); }
+
+    @Test void slidersWithDifferentNamesShareTheirStyle() throws Exception {
+        FxTestSupport.run(() -> {
+            final TouchSlider bass   = TouchSliderBuilder.create().name("Bass").barColor(Color.RED).build();
+            final TouchSlider treble = TouchSliderBuilder.create().name("Treble").barColor(Color.RED).build();
+            final TouchSlider other  = TouchSliderBuilder.create().name("Bass").barColor(Color.BLUE).build();
+            assertSame(TouchSliderStyle.of(bass), TouchSliderStyle.of(treble));
+            assertNotSame(TouchSliderStyle.of(bass), TouchSliderStyle.of(other));
+        });
+    }
+
+    @Test void fontsOfDifferentSizesAreCached() throws Exception {
+        FxTestSupport.run(() -> {
+            final TouchSliderStyle style = TouchSliderStyle.of(TouchSliderBuilder.create().barColor(Color.ORANGE).build());
+            final Font             small = style.getFont(10);
+            final Font             large = style.getFont(20);
+            assertSame(small, style.getFont(10));
+            assertSame(large, style.getFont(20));
+            assertEquals(20, large.getSize(), 0);
+        });
+    }
+
+    @Test void glyphAtlasesAreSharedBetweenSliders() throws Exception {
+        FxTestSupport.run(() -> {
+            assumeTrue(FxTestSupport.isTextAvailable(), "text rendering is not available");
+            final TouchSliderStyle style = TouchSliderStyle.of(TouchSliderBuilder.create().barColor(Color.CYAN).textMode(TextMode.GLYPH_ATLAS).build());
+            final GlyphAtlas       atlas = style.getGlyphAtlas(12, true, 1);
+            assertSame(atlas, style.getGlyphAtlas(12, true, 1));
+            assertNotSame(atlas, style.getGlyphAtlas(12, false, 1));
+            assertNotSame(atlas, style.getGlyphAtlas(12, true, 2));
+            assertNotSame(atlas, style.getGlyphAtlas(14, true, 1));
+            assertSame(atlas, style.getGlyphAtlas(12, true, 1));
+        });
+    }
+}
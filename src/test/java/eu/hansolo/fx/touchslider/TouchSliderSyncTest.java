@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2022 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.fx.touchslider;
+
+import eu.hansolo.fx.touchslider.TouchSliderSyncReplica.State;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+public class TouchSliderSyncTest {
+    private final List<AutoCloseable> closeables = new ArrayList<>();
+
+
+    @BeforeAll static void startup() throws InterruptedException { FxTestSupport.startup(); }
+
+    @AfterEach void close() throws Exception {
+        for (AutoCloseable closeable : closeables) { closeable.close(); }
+        closeables.clear();
+    }
+
+    @Test void replicasReceiveSnapshotsAndDeltas() throws Exception {
+        final TouchSliderBank        primaryBank = bank(8);
+        final TouchSliderBank        replicaBank = bank(8);
+        final TouchSliderBank        lateBank    = bank(8);
+        FxTestSupport.run(() -> primaryBank.write(values(8, 1)));
+        final TouchSliderSyncPrimary primary     = open(new TouchSliderSyncPrimary(primaryBank, new InetSocketAddress("127.0.0.1", 0))).start();
+        final TouchSliderSyncReplica replica     = open(new TouchSliderSyncReplica(replicaBank, "127.0.0.1", primary.getLocalPort())).start();
+        awaitEqual(primaryBank, replicaBank, "no snapshot");
+        assertEquals(State.CONNECTED, replica.getState());
+
+        FxTestSupport.run(() -> primaryBank.getSlider(3).setSliderValue(42));
+        awaitEqual(primaryBank, replicaBank, "no delta");
+        assertTrue(replica.getFramesReceived() >= 2);
+
+        // Late joiners start with the current values
+        final TouchSliderSyncReplica late = open(new TouchSliderSyncReplica(lateBank, "127.0.0.1", primary.getLocalPort())).start();
+        awaitEqual(primaryBank, lateBank, "no snapshot for the late joiner");
+        FxTestSupport.waitUntil(() -> 2 == primary.getClientCount(), "replicas not counted");
+        assertEquals(1, late.getFramesReceived());
+    }
+
+    @Test void slowReplicasAreResynchronizedWithoutBlockingOthers() throws Exception {
+        final int                    size        = 5_000;
+        final TouchSliderBank        primaryBank = bank(size);
+        final TouchSliderBank        replicaBank = bank(size);
+        final TouchSliderSyncPrimary primary     = open(new TouchSliderSyncPrimary(primaryBank, new InetSocketAddress("127.0.0.1", 0))).start();
+        open(new TouchSliderSyncReplica(replicaBank, "127.0.0.1", primary.getLocalPort())).start();
+        // A replica that stops reading, its small receive buffer is full after a few frames
+        final SocketChannel stalled = SocketChannel.open();
+        closeables.add(stalled);
+        stalled.setOption(StandardSocketOptions.SO_RCVBUF, 4096);
+        stalled.connect(new InetSocketAddress("127.0.0.1", primary.getLocalPort()));
+        FxTestSupport.waitUntil(() -> 2 == primary.getClientCount(), "replicas not connected");
+
+        // More deltas than the send buffer of the primary can hold
+        for (int round = 1 ; round <= 150 ; round++) {
+            final double[] values = values(size, round);
+            FxTestSupport.run(() -> primaryBank.write(values));
+            FxTestSupport.waitForPulses(1);
+        }
+        // A last delta that can not bring the stalled replica up to date on its own
+        FxTestSupport.run(() -> primaryBank.getSlider(0).setSliderValue(99));
+        awaitEqual(primaryBank, replicaBank, "replica blocked by the stalled replica");
+
+        // The stalled replica drains its backlog and is resynchronized with a second snapshot
+        final double[]   expected  = new double[size];
+        final double[]   received  = new double[size];
+        final int[]      indices   = new int[size];
+        final double[]   decoded   = new double[size];
+        final ByteBuffer in        = ByteBuffer.allocate(SyncProtocol.maxFrameSize(size) * 2);
+        final long       deadline  = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        int              snapshots = 0;
+        int              frames    = 0;
+        primaryBank.read(expected);
+        stalled.configureBlocking(false);
+        while (!Arrays.equals(expected, received) && System.nanoTime() < deadline) {
+            if (stalled.read(in) <= 0) {
+                Thread.sleep(1);
+                continue;
+            }
+            in.flip();
+            while (in.hasRemaining()) {
+                final byte type  = in.get(in.position());
+                final int  count = SyncProtocol.get(in, indices, decoded);
+                if (count < 0) { break; }
+                if (SyncProtocol.SNAPSHOT == type) { snapshots++; }
+                frames++;
+                for (int i = 0 ; i < count ; i++) { received[indices[i]] = decoded[i]; }
+            }
+            in.compact();
+        }
+        assertTrue(Arrays.equals(expected, received), "stalled replica not resynchronized");
+        assertTrue(snapshots >= 2, "stalled replica received " + snapshots + " snapshots of " + frames + " frames");
+    }
+
+    @Test void replicasReportErrorsAndReconnect() throws Exception {
+        final List<Throwable>                 errors  = new CopyOnWriteArrayList<>();
+        final Thread.UncaughtExceptionHandler handler = Thread.getDefaultUncaughtExceptionHandler();
+        Thread.setDefaultUncaughtExceptionHandler((thread, throwable) -> errors.add(throwable));
+        try {
+            final TouchSliderBank        primaryBank = bank(4);
+            final TouchSliderBank        replicaBank = bank(4);
+            final TouchSliderSyncPrimary primary     = new TouchSliderSyncPrimary(primaryBank, new InetSocketAddress("127.0.0.1", 0)).start();
+            final int                    port        = primary.getLocalPort();
+            final TouchSliderSyncReplica replica     = open(new TouchSliderSyncReplica(replicaBank, "127.0.0.1", port)).start();
+            FxTestSupport.waitUntil(replica::isConnected, "not connected");
+            assertEquals(State.CONNECTED, FxTestSupport.call(() -> replica.stateProperty().get()));
+
+            primary.close();
+            FxTestSupport.waitUntil(() -> !errors.isEmpty(), "lost connection not reported");
+            assertFalse(replica.isConnected());
+
+            // A new primary on the same port, the replica reconnects and receives its snapshot
+            FxTestSupport.run(() -> primaryBank.write(values(4, 3)));
+            open(new TouchSliderSyncPrimary(primaryBank, new InetSocketAddress("127.0.0.1", port))).start();
+            awaitEqual(primaryBank, replicaBank, "no snapshot after reconnect");
+            assertEquals(2, replica.getConnectCount());
+
+            replica.close();
+            FxTestSupport.waitUntil(() -> State.CLOSED == replica.getState(), "replica not closed");
+        } finally {
+            Thread.setDefaultUncaughtExceptionHandler(handler);
+        }
+    }
+
+    private <T extends AutoCloseable> T open(final T closeable) {
+        closeables.add(closeable);
+        return closeable;
+    }
+
+    private static TouchSliderBank bank(final int size) throws Exception {
+        return FxTestSupport.call(() -> {
+            final TouchSlider[] sliders = new TouchSlider[size];
+            for (int i = 0 ; i < size ; i++) { sliders[i] = TouchSliderBuilder.create().minValue(0).range(100).build(); }
+            return new TouchSliderBank(sliders);
+        });
+    }
+
+    private static double[] values(final int size, final int round) {
+        final double[] values = new double[size];
+        for (int i = 0 ; i < size ; i++) { values[i] = (round * 7 + i) % 100; }
+        return values;
+    }
+
+    private static void awaitEqual(final TouchSliderBank expected, final TouchSliderBank actual, final String message) throws Exception {
+        final double[] expectedValues = new double[expected.size()];
+        final double[] actualValues   = new double[actual.size()];
+        FxTestSupport.waitUntil(() -> {
+            expected.read(expectedValues);
+            actual.read(actualValues);
+            return Arrays.equals(expectedValues, actualValues);
+        }, message);
+    }
+}
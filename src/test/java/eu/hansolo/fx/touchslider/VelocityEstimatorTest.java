@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2022 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.fx.touchslider;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+public class VelocityEstimatorTest {
+    private static final long MILLIS = 1_000_000L;
+
+
+    @Test void steadyDragIsEstimated() {
+        final VelocityEstimator estimator = new VelocityEstimator();
+        for (int i = 0 ; i <= 10 ; i++) { estimator.add(i * 8 * MILLIS, i * 0.008, 0); }
+        assertEquals(1.0, estimator.getVelocity(), 1e-9);
+    }
+
+    @Test void burstsStayBounded() {
+        final VelocityEstimator estimator = new VelocityEstimator();
+        // A burst at the start of a gesture has no time span to estimate a velocity from
+        for (int i = 0 ; i < 5 ; i++) { estimator.add(1000 * MILLIS + i * 5_000L, 0.5 + i * 0.02, 0); }
+        assertEquals(0, estimator.getVelocity(), 0);
+
+        // A burst after a stalled pulse is merged into one sample
+        estimator.reset();
+        for (int i = 0 ; i <= 5 ; i++) { estimator.add(i * 8 * MILLIS, i * 0.008, 0); }
+        final long stalled = 5 * 8 * MILLIS + 30 * MILLIS;
+        for (int i = 0 ; i < 5 ; i++) {
+            estimator.add(stalled + i * 5_000L, 0.04 + (i + 1) * 0.05, 0);
+            assertTrue(Math.abs(estimator.getVelocity()) <= VelocityEstimator.MAX_VELOCITY, "velocity " + estimator.getVelocity());
+        }
+        // 0.25 of the track in 30 ms
+        assertTrue(estimator.getVelocity() < 8.4, "velocity " + estimator.getVelocity());
+
+        // Even an instant jump does not exceed the limit
+        estimator.reset();
+        estimator.add(0, 0, 0);
+        estimator.add(8 * MILLIS, 1, 0);
+        assertEquals(VelocityEstimator.MAX_VELOCITY, estimator.getVelocity(), 0);
+    }
+}